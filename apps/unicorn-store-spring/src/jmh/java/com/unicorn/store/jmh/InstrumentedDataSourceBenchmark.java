@@ -0,0 +1,100 @@
+package com.unicorn.store.jmh;
+
+import com.unicorn.store.data.InstrumentedDataSource;
+import com.unicorn.store.monitoring.SlowStatementLog;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Overhead of InstrumentedDataSource (unicorn.jdbc.* meters, slow statement log) over the bare pool, for a
+// by-ID lookup and a 100-row page read column by column. In-memory H2, so the database work is small and
+// the instrumentation cost shows up as large as it ever gets.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentedDataSourceBenchmark {
+
+    private static final String LOOKUP = "select id, name, age, size, type, version from unicorns where id = ?";
+    private static final String PAGE = "select id, name, age, size, type, version from unicorns where id > ? "
+            + "order by id limit 100";
+
+    private HikariDataSource pool;
+    private DataSource instrumented;
+
+    @Setup
+    public void setUp() throws SQLException {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:jdbc-benchmark;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(1);
+        try (var connection = pool.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("create table unicorns(id varchar primary key, name varchar, age varchar, "
+                    + "size varchar, type varchar, version bigint)");
+            statement.execute("insert into unicorns select 'id-' || lpad(x, 4, '0'), 'unicorn-' || x, "
+                    + "cast(x % 100 as varchar), 'Small', 'standard', 0 from system_range(1, 1000)");
+        }
+        instrumented = new InstrumentedDataSource(pool, "benchmark", 200, true,
+                new SlowStatementLog(20, Duration.ofMillis(10)), new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void lookupRaw(Blackhole blackhole) throws SQLException {
+        query(pool, LOOKUP, "id-0500", blackhole);
+    }
+
+    @Benchmark
+    public void lookupInstrumented(Blackhole blackhole) throws SQLException {
+        query(instrumented, LOOKUP, "id-0500", blackhole);
+    }
+
+    @Benchmark
+    public void pageRaw(Blackhole blackhole) throws SQLException {
+        query(pool, PAGE, "id-0500", blackhole);
+    }
+
+    @Benchmark
+    public void pageInstrumented(Blackhole blackhole) throws SQLException {
+        query(instrumented, PAGE, "id-0500", blackhole);
+    }
+
+    // What Hibernate does per query: one connection, one prepared statement, every column read by index
+    private static void query(DataSource dataSource, String sql, String parameter, Blackhole blackhole)
+            throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parameter);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getString(1));
+                    blackhole.consume(resultSet.getString(2));
+                    blackhole.consume(resultSet.getString(3));
+                    blackhole.consume(resultSet.getString(4));
+                    blackhole.consume(resultSet.getString(5));
+                    blackhole.consume(resultSet.getLong(6));
+                }
+            }
+        }
+    }
+}
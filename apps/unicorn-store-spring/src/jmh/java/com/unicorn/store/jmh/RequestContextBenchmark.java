@@ -0,0 +1,65 @@
+package com.unicorn.store.jmh;
+
+import com.unicorn.store.context.RequestContext;
+import com.unicorn.store.filter.RequestContextFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the ScopedValue binding in RequestContextFilter, from the bare
+// ScopedValue.where(...).run(...) up to the whole filter (request ID generation included).
+// Debug logging is off (src/jmh/resources/logback-test.xml), as in production.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestContextBenchmark {
+
+    private static final String REQUEST_ID = "2f1c4d1e-6a7b-4c3d-9e8f-0a1b2c3d4e5f";
+
+    private RequestContextFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new RequestContextFilter();
+        request = new MockHttpServletRequest("GET", "/unicorns");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void bindAndRead(Blackhole blackhole) {
+        ScopedValue.where(RequestContext.REQUEST_ID, REQUEST_ID)
+            .run(() -> blackhole.consume(RequestContext.REQUEST_ID.get()));
+    }
+
+    // Unbound lookup, as done by service code running outside a request (relay, scheduled jobs)
+    @Benchmark
+    public String readUnbound() {
+        return RequestContext.REQUEST_ID.orElse("no-request-id");
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws IOException, ServletException {
+        FilterChain chain = (_, _) -> blackhole.consume(RequestContext.REQUEST_ID.get());
+        filter.doFilter(request, response, chain);
+    }
+}
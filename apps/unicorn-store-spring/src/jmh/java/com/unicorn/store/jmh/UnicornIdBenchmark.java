@@ -0,0 +1,89 @@
+package com.unicorn.store.jmh;
+
+import com.unicorn.store.data.UuidV7;
+import com.unicorn.store.model.Unicorn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// ID assignment on create: random v4 (SecureRandom) vs time-ordered v7 (UuidV7, CAS + ThreadLocalRandom)
+// UUID generation and the validating Unicorn.withId copy
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnicornIdBenchmark {
+
+    private Unicorn unicorn;
+    private String id;
+
+    @Setup
+    public void setUp() {
+        unicorn = new Unicorn("Benchmark", "10", "Medium", "standard");
+        id = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String randomUuidString() {
+        return UUID.randomUUID().toString();
+    }
+
+    // Concurrent creates share the SecureRandom behind UUID.randomUUID
+    @Benchmark
+    @Threads(4)
+    public String randomUuidStringContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    public String uuidV7String() {
+        return UuidV7.nextString();
+    }
+
+    // Concurrent creates share only the CAS on the last timestamp/sequence
+    @Benchmark
+    @Threads(4)
+    public String uuidV7StringContended() {
+        return UuidV7.nextString();
+    }
+
+    @Benchmark
+    public Unicorn withId() {
+        return unicorn.withId(id);
+    }
+
+    // What UnicornService.createUnicorn did for a request without an ID before UuidV7
+    @Benchmark
+    public Unicorn withRandomId() {
+        return unicorn.withId(UUID.randomUUID().toString());
+    }
+
+    // What UnicornService.createUnicorn does for a request without an ID
+    @Benchmark
+    public Unicorn withUuidV7Id() {
+        return unicorn.withId(UuidV7.nextString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.unicorn.store.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.StoreApplication;
+import com.unicorn.store.model.Unicorn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Request/response body mapping with the ObjectMapper bean from StoreApplication
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnicornJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Unicorn unicorn;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new StoreApplication().getObjectMapper();
+        unicorn = new Unicorn("Benchmark", "10", "Medium", "standard").withId(UUID.randomUUID().toString());
+        unicorn.setVersion(3L);
+        json = objectMapper.writeValueAsString(unicorn);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(unicorn);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(unicorn);
+    }
+
+    @Benchmark
+    public Unicorn deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(json, Unicorn.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.unicorn.store.service;
+
+import com.unicorn.store.model.Unicorn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Pattern-matching switch in UnicornService.validateUnicorn (package-private, hence this package).
+// validateUnicorn uses no collaborators, so the service is built without repositories.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnicornValidationBenchmark {
+
+    private UnicornService unicornService;
+    private Unicorn valid;
+    private Unicorn blankType;
+
+    @Setup
+    public void setUp() {
+        unicornService = new UnicornService(null, null, null, null);
+        valid = new Unicorn("Benchmark", "10", "Medium", "standard");
+        blankType = new Unicorn();
+        blankType.setName("Benchmark");
+        blankType.setType(" ");
+    }
+
+    @Benchmark
+    public Unicorn validUnicorn() {
+        unicornService.validateUnicorn(valid);
+        return valid;
+    }
+
+    // Rejection path (400 responses): dominated by the exception's stack trace
+    @Benchmark
+    public IllegalArgumentException invalidUnicorn() {
+        try {
+            unicornService.validateUnicorn(blankType);
+            throw new AssertionError("Unicorn with blank type passed validation");
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.unicorn.store;
 
+import com.unicorn.store.training.TrainingRun;
 import org.springframework.boot.SpringApplication;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only on the classpath in the "reactive" Maven profile, where it belongs to ReactiveStoreApplication
+@SpringBootApplication(excludeName = "org.springframework.boot.r2dbc.autoconfigure.R2dbcAutoConfiguration")
+@EnableScheduling
 public class StoreApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(StoreApplication.class, args);
+		var application = new SpringApplication(StoreApplication.class);
+		// --training: run a representative workload without PostgreSQL or AWS, then exit (see TrainingRun)
+		boolean training = TrainingRun.isRequested(args);
+		if (training) {
+			TrainingRun.configureSystemProperties();
+			application.setAdditionalProfiles(TrainingRun.PROFILE);
+		}
+		var context = application.run(args);
+		if (training) {
+			// Exiting lets a JVM started with -XX:AOTCacheOutput or -XX:ArchiveClassesAtExit write it
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 	@Bean
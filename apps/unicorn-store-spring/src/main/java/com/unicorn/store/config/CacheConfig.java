@@ -0,0 +1,15 @@
+package com.unicorn.store.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caffeine cache in front of UnicornService reads (spec and TTL in application.yaml).
+// Caching advice runs outside the transaction advice, so puts/evictions only happen after commit.
+// Hit/miss/eviction counters are bound to the MeterRegistry as cache.gets / cache.evictions.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String UNICORNS_CACHE = "unicorns";
+}
@@ -0,0 +1,56 @@
+package com.unicorn.store.config;
+
+import com.unicorn.store.data.AdmissionControlledDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the pooled DataSource in AdmissionControlledDataSource (limits in application.yaml,
+// unicorn.datasource.admission.*). Static so the post-processor does not pull other beans in early;
+// the MeterRegistry is only resolved once the DataSource is created. Only the primary "dataSource"
+// bean, whose pool size the limits derive from, is wrapped - not the reader pool of ReadReplicaConfig.
+// Ordered, so it runs before the (unordered) read replica routing post-processor and wraps the pool itself
+// (instrumented by JdbcInstrumentationConfig, whose post-processor is ordered first).
+// The @Bean method declares the concrete type: Spring picks a post-processor's ordering phase from the bean
+// definition's type, and a plain BeanPostProcessor would only run first by declaration order.
+@Configuration
+@ConditionalOnProperty(name = "unicorn.datasource.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceAdmissionConfig {
+
+    @Bean
+    static AdmissionPostProcessor dataSourceAdmissionPostProcessor(Environment environment,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdmissionPostProcessor(environment, meterRegistry);
+    }
+
+    private record AdmissionPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource
+                    || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            var poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+            return new AdmissionControlledDataSource(dataSource,
+                    environment.getProperty("unicorn.datasource.admission.max-concurrency", Integer.class, poolSize),
+                    environment.getProperty("unicorn.datasource.admission.max-queue-depth", Integer.class, 200),
+                    environment.getProperty("unicorn.datasource.admission.max-wait", Duration.class, Duration.ofSeconds(2)),
+                    meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.unicorn.store.config;
+
+import com.unicorn.store.data.InstrumentedDataSource;
+import com.unicorn.store.monitoring.SlowQueriesEndpoint;
+import com.unicorn.store.monitoring.SlowStatementLog;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+// Wraps every Hikari pool (the writer and, with ReadReplicaConfig, the reader) in InstrumentedDataSource
+// (unicorn.jdbc.*). Ordered ahead of the admission control post-processor, so the instrumentation sits directly
+// on the pool: acquire time is pool wait only (admission wait has its own timer) and every statement is seen,
+// whichever route it took. Static and declared with its concrete type for the same reasons as
+// DataSourceAdmissionConfig.
+@Configuration
+@ConditionalOnProperty(name = "unicorn.jdbc.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+    @Bean
+    SlowStatementLog slowStatementLog(@Value("${unicorn.jdbc.slow-queries.size:20}") int size,
+                                      @Value("${unicorn.jdbc.slow-queries.threshold:10ms}") Duration threshold) {
+        return new SlowStatementLog(size, threshold);
+    }
+
+    @Bean
+    SlowQueriesEndpoint slowQueriesEndpoint(SlowStatementLog slowStatementLog) {
+        return new SlowQueriesEndpoint(slowStatementLog);
+    }
+
+    @Bean
+    static InstrumentationPostProcessor jdbcInstrumentationPostProcessor(
+            Environment environment, ObjectProvider<SlowStatementLog> slowStatementLog,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new InstrumentationPostProcessor(environment, slowStatementLog, meterRegistry);
+    }
+
+    private record InstrumentationPostProcessor(Environment environment,
+                                                ObjectProvider<SlowStatementLog> slowStatementLog,
+                                                ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            return new InstrumentedDataSource(pool, beanName,
+                    environment.getProperty("unicorn.jdbc.instrumentation.max-statements", Integer.class, 200),
+                    environment.getProperty("unicorn.jdbc.instrumentation.histograms", Boolean.class, true),
+                    slowStatementLog.getObject(), meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -1,36 +1,37 @@
 package com.unicorn.store.config;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.monitoring.ContainerMetadataResolver;
+import com.unicorn.store.monitoring.ContainerMetadataResolver.ContainerMetadata;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.aop.ObservedAspect;
 import jakarta.annotation.PostConstruct;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.File;
-import java.io.IOException;
-import java.net.InetAddress;
-import java.net.URI;
-import java.net.UnknownHostException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.file.Files;
-import java.util.Optional;
-
 @Configuration
-public class MonitoringConfig {
+public class MonitoringConfig implements Resource {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private static final File NAMESPACE_FILE = new File("/var/run/secrets/kubernetes.io/serviceaccount/namespace");
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringConfig.class);
 
     @Autowired
     private MeterRegistry meterRegistry;
 
+    @Autowired
+    private ContainerMetadataResolver containerMetadataResolver;
+
+    // Common tags currently applied to every meter
+    private volatile Tags metadataTags;
+
     // Enables @Observed annotation processing for Prometheus metrics (unicorn.create, unicorn.publish, etc.)
     @Bean
     ObservedAspect observedAspect(ObservationRegistry registry) {
@@ -39,29 +40,8 @@ public class MonitoringConfig {
 
     @PostConstruct
     public void configureMeterRegistry() {
-        String clusterType = System.getenv("ECS_CONTAINER_METADATA_URI_V4") != null ? "ecs" : "eks";
-        String cluster = clusterType.equals("ecs") ? extractClusterNameFromMetadata().orElse("unknown") : Optional.ofNullable(System.getenv("CLUSTER")).orElse("unknown");
-        String containerName = "unicorn-store-spring";
-        String taskOrPodId = extractTaskOrPodId().orElse("unknown");
-        String namespace = clusterType.equals("eks") ? readNamespaceFile().orElse("default") : "";
-
-        // Get the container/pod IP address
-        String ipAddress = getContainerOrPodIp().orElse("unknown");
-
-        meterRegistry.config().commonTags(
-                "cluster", cluster,
-                "cluster_type", clusterType,
-                "container_name", containerName,
-                "task_pod_id", taskOrPodId,
-                "instance", ipAddress,       // Keep this for backward compatibility
-                "container_ip", ipAddress    // Add this new tag that won't be overwritten
-        );
-
-        if (!namespace.isEmpty()) {
-            meterRegistry.config().commonTags("namespace", namespace);
-        } else {
-            meterRegistry.config().commonTags("namespace", "<no namespace>");
-        }
+        metadataTags = toTags(containerMetadataResolver.metadata());
+        meterRegistry.config().commonTags(metadataTags);
 
         meterRegistry.config().meterFilter(
                 MeterFilter.deny(id ->
@@ -73,106 +53,44 @@ public class MonitoringConfig {
                                 )
                 )
         );
-    }
-
-    private Optional<String> extractTaskOrPodId() {
-        String metadataUri = System.getenv("ECS_CONTAINER_METADATA_URI_V4");
-        if (metadataUri != null) {
-            try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(metadataUri + "/task"))
-                        .build();
-
-                HttpResponse<String> response = HttpClient.newHttpClient()
-                        .send(request, HttpResponse.BodyHandlers.ofString());
-
-                JsonNode root = OBJECT_MAPPER.readTree(response.body());
-                String taskArn = root.path("TaskARN").asText();
-                String[] parts = taskArn.split("/");
-                return parts.length > 1 ? Optional.of(parts[parts.length - 1]) : Optional.empty();
-
-            } catch (IOException | InterruptedException e) {
-                return Optional.empty();
-            }
-        }
-
-        // EKS fallback: read pod name from Downward API
-        return readFile("/etc/podinfo/name");
-    }
-
-    private Optional<String> extractClusterNameFromMetadata() {
-        String metadataUri = System.getenv("ECS_CONTAINER_METADATA_URI_V4");
-        if (metadataUri != null) {
-            try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(metadataUri + "/task"))
-                        .build();
-
-                HttpResponse<String> response = HttpClient.newHttpClient()
-                        .send(request, HttpResponse.BodyHandlers.ofString());
 
-                JsonNode root = OBJECT_MAPPER.readTree(response.body());
-                String clusterArn = root.path("Cluster").asText();
-                String[] parts = clusterArn.split("/");
-                return parts.length > 1 ? Optional.of(parts[parts.length - 1]) : Optional.empty();
-
-            } catch (IOException | InterruptedException e) {
-                return Optional.empty();
-            }
-        }
-        return Optional.empty();
+        // Tags resolved at checkpoint time describe the build container, not the restored task/pod
+        Core.getGlobalContext().register(this);
     }
 
-    private Optional<String> readNamespaceFile() {
-        return readFile(NAMESPACE_FILE.getAbsolutePath());
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        // Nothing to release - the resolver closes its HTTP client after each lookup
     }
 
-    private Optional<String> readFile(String path) {
-        try {
-            return Optional.of(Files.readString(new File(path).toPath()).trim());
-        } catch (IOException e) {
-            return Optional.empty();
+    // Re-resolves the tags and, if they changed, overrides the stale values. Meters looked up through
+    // their builder (per-request timers, @Observed) are re-registered with the new tags; meters held
+    // in fields since startup keep the tags they were registered with.
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        Tags restoredTags = toTags(containerMetadataResolver.refresh());
+        if (restoredTags.equals(metadataTags)) {
+            return;
         }
-    }
-
-    // New method to get the container or pod IP address
-    private Optional<String> getContainerOrPodIp() {
-        // For ECS
-        String metadataUri = System.getenv("ECS_CONTAINER_METADATA_URI_V4");
-        if (metadataUri != null) {
-            try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(metadataUri))
-                        .build();
-
-                HttpResponse<String> response = HttpClient.newHttpClient()
-                        .send(request, HttpResponse.BodyHandlers.ofString());
-
-                JsonNode root = OBJECT_MAPPER.readTree(response.body());
-
-                if (root.has("Networks") && root.path("Networks").isArray() && !root.path("Networks").isEmpty()) {
-                    JsonNode network = root.path("Networks").get(0);
-                    if (network.has("IPv4Addresses") && network.path("IPv4Addresses").isArray() &&
-                            !network.path("IPv4Addresses").isEmpty()) {
-                        return Optional.of(network.path("IPv4Addresses").get(0).asText());
-                    }
-                }
-            } catch (IOException | InterruptedException e) {
-                // Fall through to next method
+        logger.info("Container metadata changed after restore: {} -> {}", metadataTags, restoredTags);
+        metadataTags = restoredTags;
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                return id.replaceTags(Tags.of(id.getTags()).and(restoredTags));
             }
-        }
-
-        // For Kubernetes/EKS
-        String podIp = System.getenv("KUBERNETES_POD_IP");
-        if (podIp != null && !podIp.isEmpty()) {
-            return Optional.of(podIp);
-        }
+        });
+    }
 
-        // Try to get local IP as fallback
-        try {
-            return Optional.of(InetAddress.getLocalHost().getHostAddress());
-        } catch (UnknownHostException e) {
-            return Optional.empty();
-        }
+    private static Tags toTags(ContainerMetadata metadata) {
+        return Tags.of(
+                "cluster", metadata.cluster(),
+                "cluster_type", metadata.clusterType(),
+                "container_name", metadata.containerName(),
+                "task_pod_id", metadata.taskOrPodId(),
+                "instance", metadata.ipAddress(),       // Keep this for backward compatibility
+                "container_ip", metadata.ipAddress(),   // Add this new tag that won't be overwritten
+                "namespace", metadata.namespace().isEmpty() ? "<no namespace>" : metadata.namespace()
+        );
     }
 }
@@ -0,0 +1,85 @@
+package com.unicorn.store.config;
+
+import com.unicorn.store.data.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+
+// Read replica routing, active when unicorn.datasource.reader.url is set (e.g. the Aurora cluster's reader
+// endpoint): a second Hikari pool for the reader, and the primary DataSource wrapped in
+// LazyConnectionDataSourceProxy -> ReadReplicaRoutingDataSource(writer, reader). Credentials, pool size and
+// driver properties default to the writer's. Admission control (DataSourceAdmissionConfig) stays in front of
+// the writer pool only; its post-processor is ordered, so it has wrapped the pool before this one runs.
+@Configuration
+@ConditionalOnExpression("!'${unicorn.datasource.reader.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    public static final String READER_DATA_SOURCE = "readerDataSource";
+
+    // Not a default candidate: the writer stays the only DataSource for injection and Boot's
+    // DataSource auto-configuration does not back off
+    @Bean(name = READER_DATA_SOURCE, defaultCandidate = false)
+    HikariDataSource readerDataSource(Environment environment) {
+        var reader = new HikariDataSource();
+        reader.setPoolName("reader");
+        reader.setJdbcUrl(environment.getRequiredProperty("unicorn.datasource.reader.url"));
+        reader.setUsername(environment.getProperty("unicorn.datasource.reader.username",
+                environment.getProperty("spring.datasource.username")));
+        reader.setPassword(environment.getProperty("unicorn.datasource.reader.password",
+                environment.getProperty("spring.datasource.password")));
+        reader.setMaximumPoolSize(environment.getProperty("unicorn.datasource.reader.maximum-pool-size", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+        reader.setReadOnly(true);
+        // Suspended around CRaC checkpoints like the writer pool
+        reader.setAllowPoolSuspension(true);
+        reader.setInitializationFailTimeout(0);
+        var driverProperties = new Properties();
+        driverProperties.putAll(Binder.get(environment)
+                .bind("spring.datasource.hikari.data-source-properties", Bindable.mapOf(String.class, String.class))
+                .orElseGet(Map::of));
+        reader.setDataSourceProperties(driverProperties);
+        return reader;
+    }
+
+    // Boot only registers this for the primary DataSource
+    @Bean
+    HikariCheckpointRestoreLifecycle readerCheckpointRestoreLifecycle(
+            @Qualifier(READER_DATA_SOURCE) DataSource readerDataSource, ConfigurableApplicationContext context) {
+        return new HikariCheckpointRestoreLifecycle(readerDataSource, context);
+    }
+
+    @Bean
+    static BeanPostProcessor readReplicaRoutingPostProcessor(Environment environment,
+                                                            @Qualifier(READER_DATA_SOURCE)
+                                                            ObjectProvider<DataSource> readerDataSource,
+                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource writer) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                var routing = new ReadReplicaRoutingDataSource(writer, readerDataSource.getObject(),
+                        environment.getProperty("unicorn.datasource.read-your-writes", Duration.class, Duration.ZERO),
+                        meterRegistry.getObject());
+                return new LazyConnectionDataSourceProxy(routing);
+            }
+        };
+    }
+}
@@ -6,5 +6,8 @@ public final class RequestContext {
 
     public static final ScopedValue<String> REQUEST_ID = ScopedValue.newInstance();
 
+    // Writes committed by this request; keeps its reads on the writer for a while (read-your-writes)
+    public static final ScopedValue<WriteTracker> WRITES = ScopedValue.newInstance();
+
     private RequestContext() {}
 }
@@ -0,0 +1,19 @@
+package com.unicorn.store.context;
+
+import java.time.Duration;
+
+// When the current request last committed a write - read-your-writes routing (ReadReplicaRoutingDataSource)
+public final class WriteTracker {
+
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    public void markWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+    public boolean wroteWithin(Duration window) {
+        return written && System.nanoTime() - lastWriteNanos < window.toNanos();
+    }
+}
@@ -1,9 +1,15 @@
 package com.unicorn.store.controller;
 
 import com.unicorn.store.service.ThreadGeneratorService;
+import com.unicorn.store.service.ThreadGeneratorService.ScenarioSpec;
+import com.unicorn.store.service.ThreadGeneratorService.ScenarioStatus;
+import com.unicorn.store.service.ThreadScenario;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/threads")
 public class ThreadManagementController {
@@ -14,9 +20,16 @@ public class ThreadManagementController {
         this.threadGeneratorService = threadGeneratorService;
     }
 
+    // Workload generator: count threads (platform or virtual) running one scenario (see ThreadScenario),
+    // rate in operations/s across all threads (default: 10 per thread, 0 = unthrottled), duration e.g. "30s"
+    // or "PT5M" (default: until stopped). Without parameters: 500 platform threads of CPU work, as before.
     @PostMapping("/start")
-    public ResponseEntity<String> startThreads(@RequestParam(defaultValue = "500") int count) {
-        var result = tryStartThreads(count);
+    public ResponseEntity<String> startThreads(@RequestParam(defaultValue = "500") int count,
+                                               @RequestParam(defaultValue = "cpu") String scenario,
+                                               @RequestParam(defaultValue = "platform") String threadType,
+                                               @RequestParam(required = false) Double rate,
+                                               @RequestParam(required = false) String duration) {
+        var result = tryStartThreads(count, scenario, threadType, rate, duration);
         if (result instanceof Success success) {
             return ResponseEntity.ok(success.message());
         } else if (result instanceof Failure failure) {
@@ -41,15 +54,35 @@ public class ThreadManagementController {
         return ResponseEntity.ok(threadGeneratorService.getActiveThreadCount());
     }
 
-    private Result tryStartThreads(int count) {
+    // The current or last run: scenario, thread type, live threads, target rate, operations, failures
+    @GetMapping("/status")
+    public ResponseEntity<ScenarioStatus> getStatus() {
+        var status = threadGeneratorService.getStatus();
+        return status == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(status);
+    }
+
+    private Result tryStartThreads(int count, String scenario, String threadType, Double rate, String duration) {
         try {
-            threadGeneratorService.startThreads(count);
-            return new Success("Successfully started " + count + " threads");
-        } catch (IllegalStateException e) {
-            return new Failure("Unable to start threads. Threads may already be running.");
+            var spec = new ScenarioSpec(ThreadScenario.of(scenario), count, virtualThreads(threadType),
+                    rate == null ? count * ThreadGeneratorService.DEFAULT_RATE_PER_THREAD : rate,
+                    duration == null ? null : DurationStyle.detectAndParse(duration));
+            threadGeneratorService.start(spec);
+            return new Success("Successfully started " + count + " " + threadType + " threads running "
+                    + spec.scenario().key());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Invalid parameters, a run already in progress, or a scenario that could not be prepared
+            return new Failure("Unable to start threads. " + e.getMessage());
         }
     }
 
+    private static boolean virtualThreads(String threadType) {
+        return switch (threadType.toLowerCase(Locale.ROOT)) {
+            case "virtual" -> true;
+            case "platform" -> false;
+            default -> throw new IllegalArgumentException("threadType must be platform or virtual");
+        };
+    }
+
     private Result tryStopThreads() {
         try {
             threadGeneratorService.stopThreads();
@@ -1,32 +1,74 @@
 package com.unicorn.store.controller;
 
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.exceptions.ConnectionAdmissionException;
 import com.unicorn.store.exceptions.ResourceNotFoundException;
+import com.unicorn.store.exceptions.VersionConflictException;
+import com.unicorn.store.model.ExportFormat;
+import com.unicorn.store.model.ImportReport;
 import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
+import com.unicorn.store.service.UnicornImportService;
 import com.unicorn.store.service.UnicornService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.springframework.http.HttpStatus.*;
 
 @RestController
 @Validated
 public class UnicornController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final UnicornService unicornService;
+    private final UnicornImportService unicornImportService;
+    private final ObjectMapper objectMapper;
+    private final int exportBufferSize;
     private static final Logger logger = LoggerFactory.getLogger(UnicornController.class);
 
-    public UnicornController(UnicornService unicornService) {
+    public UnicornController(UnicornService unicornService, UnicornImportService unicornImportService,
+                             ObjectMapper objectMapper,
+                             @Value("${unicorn.export.buffer-size:64KB}") DataSize exportBufferSize) {
         this.unicornService = unicornService;
+        this.unicornImportService = unicornImportService;
+        this.objectMapper = objectMapper;
+        this.exportBufferSize = (int) exportBufferSize.toBytes();
     }
 
     @PostMapping("/unicorns")
@@ -35,51 +77,219 @@ public class UnicornController {
             logger.debug("Creating unicorn: {}", unicorn);
             var savedUnicorn = unicornService.createUnicorn(unicorn);
             logger.info("Successfully created unicorn with ID: {}", savedUnicorn.getId());
-            return ResponseEntity.status(CREATED).body(savedUnicorn);
+            return withETag(ResponseEntity.status(CREATED), savedUnicorn).body(savedUnicorn);
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid unicorn data: {}", e.getMessage());
             throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Unicorn already exists with ID: {}", unicorn.getId());
+            throw new ResponseStatusException(CONFLICT, "Unicorn already exists with ID: " + unicorn.getId(), e);
         } catch (Exception e) {
+            rejectIfOverloaded(e);
             logger.error("Failed to create unicorn", e);
             throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to create unicorn", e);
         }
     }
 
+    // Bulk create in one transaction and a handful of JDBC batches (see UnicornService.createUnicorns)
+    @PostMapping("/unicorns/batch")
+    public ResponseEntity<List<Unicorn>> createUnicorns(@Valid @RequestBody List<Unicorn> unicorns) {
+        if (unicorns.isEmpty() || unicorns.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(BAD_REQUEST, "batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        try {
+            logger.debug("Creating {} unicorns", unicorns.size());
+            var savedUnicorns = unicornService.createUnicorns(unicorns);
+            logger.info("Successfully created {} unicorns", savedUnicorns.size());
+            return ResponseEntity.status(CREATED).body(savedUnicorns);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid unicorn batch: {}", e.getMessage());
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Unicorn batch conflicts with existing data: {}", e.getMessage());
+            throw new ResponseStatusException(CONFLICT, "Unicorn batch contains an existing ID", e);
+        } catch (Exception e) {
+            rejectIfOverloaded(e);
+            logger.error("Failed to create unicorn batch", e);
+            throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to create unicorns", e);
+        }
+    }
+
+    // NDJSON import: one unicorn per line, committed in chunks; invalid lines are reported, not fatal
+    @PostMapping(value = "/unicorns/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importUnicorns(InputStream body) {
+        try {
+            logger.debug("Importing unicorns from NDJSON");
+            var report = unicornImportService.importUnicorns(body);
+            logger.info("Imported {} unicorns, {} lines failed", report.imported(), report.failed());
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            logger.warn("Unicorn import aborted while reading the request: {}", e.getMessage());
+            throw new ResponseStatusException(BAD_REQUEST, "Failed to read import body", e);
+        } catch (Exception e) {
+            rejectIfOverloaded(e);
+            logger.error("Failed to import unicorns", e);
+            throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to import unicorns", e);
+        }
+    }
+
+    // Keyset pagination: pass the last ID of a page as "after" to get the next one (see Link header).
+    // Optional attribute filters (type, size, minAge/maxAge in whole years) and a projection
+    // ("fields=name,type") are pushed down into the query; id and version are always returned.
     @GetMapping("/unicorns")
-    public ResponseEntity<List<Unicorn>> getAllUnicorns() {
+    public ResponseEntity<List<?>> getAllUnicorns(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String size,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)) {
+            throw new ResponseStatusException(BAD_REQUEST, "minAge and maxAge must not be negative");
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new ResponseStatusException(BAD_REQUEST, "minAge must not be greater than maxAge");
+        }
+        var filter = new UnicornFilter(type, size, minAge, maxAge);
+        var selectedFields = selectedFields(fields);
         try {
-            logger.debug("Retrieving all unicorns");
-            var unicorns = unicornService.getAllUnicorns();
+            List<?> unicorns;
+            String eTag;
+            if (filter.equals(UnicornFilter.NONE) && selectedFields == null) {
+                logger.debug("Retrieving up to {} unicorns after: {}", limit, after);
+                var page = unicornService.getAllUnicorns(after, limit);
+                unicorns = page;
+                eTag = pageETag(page, Unicorn::getId, Unicorn::getVersion, "");
+            } else {
+                logger.debug("Retrieving up to {} unicorns after: {} matching {}", limit, after, filter);
+                var page = unicornService.findUnicorns(filter,
+                        selectedFields == null ? UnicornView.OPTIONAL_FIELDS : selectedFields, after, limit);
+                unicorns = page;
+                eTag = pageETag(page, UnicornView::id, UnicornView::version, fields == null ? "" : fields);
+            }
 
             if (unicorns.isEmpty()) {
                 logger.info("No unicorns found");
                 return ResponseEntity.noContent().build();
-            } else {
-                logger.info("Retrieved {} unicorns", unicorns.size());
-                return ResponseEntity.ok(unicorns);
             }
+
+            logger.info("Retrieved {} unicorns", unicorns.size());
+            // If-None-Match is checked against the ETag before the body is written (304, no serialization)
+            var response = ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag);
+            if (unicorns.size() == limit) {
+                var next = UriComponentsBuilder.fromPath("/unicorns")
+                        .queryParam("after", lastId(unicorns))
+                        .queryParam("limit", limit)
+                        .queryParamIfPresent("type", Optional.ofNullable(type))
+                        .queryParamIfPresent("size", Optional.ofNullable(size))
+                        .queryParamIfPresent("minAge", Optional.ofNullable(minAge))
+                        .queryParamIfPresent("maxAge", Optional.ofNullable(maxAge))
+                        .queryParamIfPresent("fields", Optional.ofNullable(fields))
+                        .encode()
+                        .build()
+                        .toUriString();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(unicorns);
         } catch (Exception e) {
+            rejectIfOverloaded(e);
             logger.error("Failed to retrieve unicorns", e);
             throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to retrieve unicorns", e);
         }
     }
 
+    // Streams the whole table as newline-delimited JSON - heap usage is independent of row count
+    @GetMapping(value = "/unicorns", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUnicorns() {
+        logger.debug("Streaming all unicorns");
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+                var count = unicornService.streamAllUnicorns(unicorn -> {
+                    try {
+                        generator.writeObject(unicorn);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                logger.info("Streamed {} unicorns", count);
+            } catch (UncheckedIOException e) {
+                logger.warn("Client aborted unicorn stream: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Whole table as CSV (default) or PostgreSQL binary COPY format, written by the database driver straight
+    // into the servlet output stream (UnicornService.exportUnicorns). Synchronous on the request's virtual
+    // thread: the larger response buffer means fewer, bigger socket writes. 501 when the database has no COPY.
+    @GetMapping("/unicorns/export")
+    public void exportUnicorns(@RequestParam(defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+        }
+        response.setBufferSize(exportBufferSize);
+        response.setContentType(exportFormat.mediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("unicorns." + exportFormat.fileExtension())
+                .build()
+                .toString());
+        try {
+            logger.debug("Exporting all unicorns as {}", exportFormat);
+            var count = unicornService.exportUnicorns(exportFormat, response.getOutputStream());
+            logger.info("Exported {} unicorns as {}", count, exportFormat);
+        } catch (IOException e) {
+            logger.warn("Client aborted unicorn export: {}", e.getMessage());
+            throw e;
+        } catch (UnsupportedOperationException e) {
+            logger.warn("Unicorn export unavailable: {}", e.getMessage());
+            resetUnlessCommitted(response);
+            throw new ResponseStatusException(NOT_IMPLEMENTED, e.getMessage(), e);
+        } catch (Exception e) {
+            resetUnlessCommitted(response);
+            rejectIfOverloaded(e);
+            logger.error("Failed to export unicorns", e);
+            throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to export unicorns", e);
+        }
+    }
+
+    // If-Match: "<version>" makes the update conditional (412 if the unicorn changed meanwhile)
     @PutMapping("/unicorns/{unicornId}")
     public ResponseEntity<Unicorn> updateUnicorn(
             @PathVariable String unicornId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody Unicorn unicorn) {
+        var expectedVersion = expectedVersion(ifMatch);
         try {
             logger.debug("Updating unicorn with ID: {}", unicornId);
-            var updatedUnicorn = unicornService.updateUnicorn(unicorn, unicornId);
+            var updatedUnicorn = unicornService.updateUnicorn(unicorn, unicornId, expectedVersion);
             logger.info("Successfully updated unicorn with ID: {}", unicornId);
-            return ResponseEntity.ok(updatedUnicorn);
+            return withETag(ResponseEntity.ok(), updatedUnicorn).body(updatedUnicorn);
         } catch (ResourceNotFoundException e) {
             logger.warn("Unicorn not found with ID: {}", unicornId);
             throw new ResponseStatusException(NOT_FOUND, "Unicorn not found with ID: " + unicornId, e);
+        } catch (VersionConflictException e) {
+            logger.warn("Stale update for unicorn ID {}: {}", unicornId, e.getMessage());
+            throw new ResponseStatusException(PRECONDITION_FAILED, e.getMessage(), e);
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid update data for unicorn ID {}: {}", unicornId, e.getMessage());
             throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
         } catch (Exception e) {
+            rejectIfOverloaded(e);
             logger.error("Failed to update unicorn with ID: {}", unicornId, e);
             throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to update unicorn", e);
         }
@@ -91,32 +301,127 @@ public class UnicornController {
             logger.debug("Retrieving unicorn with ID: {}", unicornId);
             var unicorn = unicornService.getUnicorn(unicornId);
             logger.info("Successfully retrieved unicorn with ID: {}", unicornId);
-            return ResponseEntity.ok(unicorn);
+            // Served from the unicorn cache when warm, so a matching If-None-Match costs no DB query
+            return withETag(ResponseEntity.ok().cacheControl(CacheControl.noCache()), unicorn).body(unicorn);
         } catch (ResourceNotFoundException e) {
             logger.warn("Unicorn not found with ID: {}", unicornId);
             throw new ResponseStatusException(NOT_FOUND, "Unicorn not found with ID: " + unicornId, e);
         } catch (Exception e) {
+            rejectIfOverloaded(e);
             logger.error("Failed to retrieve unicorn with ID: {}", unicornId, e);
             throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to retrieve unicorn", e);
         }
     }
 
     @DeleteMapping("/unicorns/{unicornId}")
-    public ResponseEntity<String> deleteUnicorn(@PathVariable String unicornId) {
+    public ResponseEntity<String> deleteUnicorn(
+            @PathVariable String unicornId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var expectedVersion = expectedVersion(ifMatch);
         try {
             logger.debug("Deleting unicorn with ID: {}", unicornId);
-            unicornService.deleteUnicorn(unicornId);
+            unicornService.deleteUnicorn(unicornId, expectedVersion);
             logger.info("Successfully deleted unicorn with ID: {}", unicornId);
             return ResponseEntity.ok().build();
         } catch (ResourceNotFoundException e) {
             logger.warn("Unicorn not found with ID: {}", unicornId);
             throw new ResponseStatusException(NOT_FOUND, "Unicorn not found with ID: " + unicornId, e);
+        } catch (VersionConflictException e) {
+            logger.warn("Stale delete for unicorn ID {}: {}", unicornId, e.getMessage());
+            throw new ResponseStatusException(PRECONDITION_FAILED, e.getMessage(), e);
         } catch (Exception e) {
+            rejectIfOverloaded(e);
             logger.error("Failed to delete unicorn with ID: {}", unicornId, e);
             throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "Failed to delete unicorn", e);
         }
     }
 
+    // Connection admission control shed the request: 503 instead of a 500 after a pool timeout
+    private static void rejectIfOverloaded(Exception e) {
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof ConnectionAdmissionException rejection) {
+            logger.warn("Rejected request under database overload: {}", rejection.getMessage());
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Service overloaded, retry later", e);
+        }
+    }
+
+    // Errors before the first buffer is flushed replace the export headers with a regular error response;
+    // afterwards the status is already sent and the client sees the stream cut off
+    private static void resetUnlessCommitted(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.reset();
+        }
+    }
+
+    // The ETag is the entity version; it is omitted when the version is unknown (unconditional PUT)
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Unicorn unicorn) {
+        return unicorn.getVersion() == null ? builder : builder.eTag(String.valueOf(unicorn.getVersion()));
+    }
+
+    // Strong ETag for a page: hash over (id, version) of every unicorn on it, so it changes
+    // whenever a row on the page is created, updated or deleted - without serializing the page.
+    // The projection is part of the hash since each field selection is a different representation.
+    private static <T> String pageETag(List<T> unicorns, Function<T, String> id, Function<T, Long> version,
+                                       String projection) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(projection.getBytes(StandardCharsets.UTF_8));
+            for (var unicorn : unicorns) {
+                digest.update((byte) ';');
+                digest.update(id.apply(unicorn).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(String.valueOf(version.apply(unicorn)).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Java 21 pattern matching for switch over the two page element types
+    private static String lastId(List<?> unicorns) {
+        return switch (unicorns.getLast()) {
+            case Unicorn unicorn -> unicorn.getId();
+            case UnicornView view -> view.id();
+            default -> throw new IllegalStateException("Unexpected page element");
+        };
+    }
+
+    // "fields=name,type" - null when absent (full unicorns); id and version are implied
+    private static Set<String> selectedFields(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        var selected = new HashSet<String>();
+        for (var field : fields.split(",")) {
+            var name = field.strip();
+            if (UnicornView.OPTIONAL_FIELDS.contains(name)) {
+                selected.add(name);
+            } else if (!name.equals("id") && !name.equals("version")) {
+                throw new ResponseStatusException(BAD_REQUEST,
+                        "Unknown field '" + name + "', expected any of id, version, " + String.join(", ",
+                                UnicornView.OPTIONAL_FIELDS.stream().sorted().toList()));
+            }
+        }
+        return Set.copyOf(selected);
+    }
+
+    // If-Match uses strong comparison: "*" or a missing header means unconditional,
+    // anything that is not one of our quoted version tags can never match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.strip();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException _) {
+                // Java 22 unnamed variable (_) - falls through to 412
+            }
+        }
+        throw new ResponseStatusException(PRECONDITION_FAILED, "If-Match does not match the current ETag");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, List<String>>> handleValidationErrors(
             MethodArgumentNotValidException ex) {
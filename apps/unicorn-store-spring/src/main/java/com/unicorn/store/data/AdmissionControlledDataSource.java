@@ -0,0 +1,139 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.exceptions.ConnectionAdmissionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fair admission in front of the connection pool. With virtual threads every request can ask for a
+// connection at once; instead of letting thousands of them park in Hikari's queue until its
+// connection timeout, at most maxConcurrency callers hold a connection, at most maxQueueDepth wait
+// for one (FIFO), and everyone else - or anyone waiting longer than maxWait - is rejected at once
+// with ConnectionAdmissionException. A permit is held from getConnection() until Connection.close().
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxQueueDepth;
+    private final Duration maxWait;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTime;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public AdmissionControlledDataSource(DataSource targetDataSource, int maxConcurrency, int maxQueueDepth,
+                                         Duration maxWait, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWait = maxWait;
+        this.waitTime = Timer.builder("unicorn.datasource.admission.wait")
+                .description("Time spent waiting for a connection permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullRejections = rejections(meterRegistry, "queue_full");
+        this.timeoutRejections = rejections(meterRegistry, "timeout");
+        Gauge.builder("unicorn.datasource.admission.queue", waiting, AtomicInteger::get)
+                .description("Callers waiting for a connection permit")
+                .register(meterRegistry);
+        Gauge.builder("unicorn.datasource.admission.active", permits, p -> maxConcurrency - p.availablePermits())
+                .description("Connections handed out through admission control")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return admitted(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return admitted(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            // Zero-timeout tryAcquire honours fairness, unlike tryAcquire()
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return;
+            }
+            if (waiting.incrementAndGet() > maxQueueDepth) {
+                waiting.decrementAndGet();
+                queueFullRejections.increment();
+                throw new ConnectionAdmissionException(
+                        "Connection queue is full (" + maxQueueDepth + " waiting for " + maxConcurrency + " connections)");
+            }
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } finally {
+                waiting.decrementAndGet();
+                waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                timeoutRejections.increment();
+                throw new ConnectionAdmissionException("No connection available within " + maxWait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionAdmissionException("Interrupted while waiting for a connection");
+        }
+    }
+
+    private Connection admitted(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (_, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("unicorn.datasource.admission.rejections")
+                .description("Connection requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,170 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.monitoring.SlowStatementLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// JDBC instrumentation directly on a connection pool, below Hibernate and admission control, so the numbers
+// separate pool wait, statement execution and (by subtraction from the unicorn.* spans) ORM overhead:
+// - unicorn.jdbc.connection.acquire: time to get a connection from the pool
+// - unicorn.jdbc.statement{sql}: execution time per normalized statement (literals replaced by ?)
+// - unicorn.jdbc.rows{sql}: rows read through a result set, or the update count
+// and the slowest statements in a SlowStatementLog. Statements and result sets are wrapped in delegating
+// classes (TimedStatement, TimedPreparedStatement, CountingResultSet) that only add work to execute*, next()
+// and close(); the connection itself is a proxy, as it sees a handful of calls per transaction.
+// Meters are keyed by normalized SQL, so IN lists of any length and literal variants share one meter, and at
+// most maxStatements normalized statements get their own tag; the rest share sql="other" to bound cardinality.
+// Raw SQL strings are cached up to MAX_CACHED_SQL entries so a repeated statement is normalized only once.
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRING_LITERALS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERALS = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String OTHER = "other";
+    private static final int MAX_CACHED_SQL = 4096;
+
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final SlowStatementLog slowStatements;
+    private final int maxStatements;
+    private final boolean histograms;
+    private final Timer acquireTime;
+    private final StatementMeters other;
+    // Normalized SQL -> meters, at most maxStatements entries
+    private final Map<String, StatementMeters> statements = new ConcurrentHashMap<>();
+    // Raw SQL -> meters, at most MAX_CACHED_SQL entries
+    private final Map<String, StatementMeters> resolved = new ConcurrentHashMap<>();
+
+    public InstrumentedDataSource(DataSource targetDataSource, String name, int maxStatements, boolean histograms,
+                                  SlowStatementLog slowStatements, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.slowStatements = slowStatements;
+        this.maxStatements = maxStatements;
+        this.histograms = histograms;
+        this.acquireTime = Timer.builder("unicorn.jdbc.connection.acquire")
+                .description("Time to obtain a connection from the pool")
+                .tag("datasource", name)
+                .publishPercentileHistogram(histograms)
+                .register(meterRegistry);
+        this.other = statementMeters(OTHER);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        var connection = obtainTargetDataSource().getConnection();
+        acquireTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return instrumented(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        var connection = obtainTargetDataSource().getConnection(username, password);
+        acquireTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return instrumented(connection);
+    }
+
+    // Literals become ?, IN lists collapse to (?), comments and extra whitespace are dropped
+    public static String normalizeSql(String sql) {
+        var normalized = COMMENTS.matcher(sql).replaceAll(" ");
+        normalized = STRING_LITERALS.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERALS.matcher(normalized).replaceAll("?");
+        normalized = IN_LISTS.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").strip();
+    }
+
+    private Connection instrumented(Connection connection) {
+        return proxy(Connection.class, (_, method, args) -> {
+            var result = invoke(connection, method, args);
+            return switch (result) {
+                case CallableStatement statement when method.getName().equals("prepareCall") ->
+                        new TimedCallableStatement(statement, this, meters((String) args[0]));
+                case PreparedStatement statement when method.getName().equals("prepareStatement") ->
+                        new TimedPreparedStatement<>(statement, this, meters((String) args[0]));
+                case Statement statement when method.getName().equals("createStatement") ->
+                        new TimedStatement<>(statement, this, other);
+                case null, default -> result;
+            };
+        });
+    }
+
+    StatementMeters meters(String sql) {
+        if (sql == null) {
+            return other;
+        }
+        var meters = resolved.get(sql);
+        if (meters != null) {
+            return meters;
+        }
+        var normalized = normalizeSql(sql);
+        meters = statements.get(normalized);
+        if (meters == null) {
+            meters = statements.size() >= maxStatements
+                    ? other
+                    : statements.computeIfAbsent(normalized, this::statementMeters);
+        }
+        if (resolved.size() < MAX_CACHED_SQL) {
+            resolved.putIfAbsent(sql, meters);
+        }
+        return meters;
+    }
+
+    void recordExecution(StatementMeters meters, long nanos) {
+        meters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        slowStatements.offer(name, meters.sql(), nanos);
+    }
+
+    private StatementMeters statementMeters(String sql) {
+        return new StatementMeters(sql,
+                Timer.builder("unicorn.jdbc.statement")
+                        .description("JDBC statement execution time")
+                        .tag("datasource", name)
+                        .tag("sql", sql)
+                        .publishPercentileHistogram(histograms)
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry),
+                DistributionSummary.builder("unicorn.jdbc.rows")
+                        .description("Rows read from a result set, or rows changed by an update")
+                        .tag("datasource", name)
+                        .tag("sql", sql)
+                        .register(meterRegistry));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    record StatementMeters(String sql, Timer timer, DistributionSummary rows) {}
+}
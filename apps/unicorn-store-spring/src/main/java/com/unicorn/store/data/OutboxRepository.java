@@ -0,0 +1,46 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends CrudRepository<OutboxEvent, String> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED (lock timeout -2) so concurrent relays never claim the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findByAvailableAtLessThanEqualOrderByCreatedAtAsc(Instant now, Limit limit);
+
+    // Backlog size and oldest event in one statement, for the relay's gauges
+    @Query("select count(e) as events, min(e.createdAt) as oldest from unicorn_outbox e")
+    Summary summarize();
+
+    @Modifying
+    @Query("delete from unicorn_outbox e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+
+    // Failed deliveries: the lease is replaced by the retry backoff
+    @Modifying
+    @Query("update unicorn_outbox e set e.availableAt = :availableAt where e.id in :ids")
+    int rescheduleByIdIn(@Param("ids") Collection<String> ids, @Param("availableAt") Instant availableAt);
+
+    interface Summary {
+        long getEvents();
+
+        // null when the outbox is empty
+        Instant getOldest();
+    }
+}
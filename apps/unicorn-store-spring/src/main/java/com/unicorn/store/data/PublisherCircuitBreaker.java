@@ -0,0 +1,168 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.exceptions.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Circuit breaker around PutEvents. After failureThreshold consecutive failed calls (errors, timeouts, or
+// responses in which every entry failed) it opens. While open, calls fail fast without reaching EventBridge.
+// After openDuration a single probe call is let through (half-open): success closes the breaker and
+// failure opens it again. Events that fail fast stay in the transactional outbox, which is the durable
+// fallback queue, and the relay pauses while the breaker is open.
+public class PublisherCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    // Not a monitor: callers are virtual threads, and waiting on a monitor pins the carrier before JDK 24
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter rejected;
+
+    // Guarded by lock; state is also read without it by the gauges
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+
+    public PublisherCircuitBreaker(int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this(failureThreshold, openDuration, System::nanoTime, meterRegistry);
+    }
+
+    public PublisherCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock,
+                                   MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        this.rejected = Counter.builder("unicorn.publisher.circuit.rejected")
+                .description("Events failed fast by the open circuit breaker and left in the outbox")
+                .register(meterRegistry);
+        for (var candidate : State.values()) {
+            Gauge.builder("unicorn.publisher.circuit.state", this, breaker -> breaker.state == candidate ? 1 : 0)
+                    .description("EventBridge circuit breaker state (1 = current)")
+                    .tag("state", candidate.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    // Wraps the PutEvents sender; a rejected call completes exceptionally without invoking it
+    public Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> protect(
+            Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> sender) {
+        return request -> {
+            if (!tryAcquirePermission()) {
+                return rejected(request.entries().size());
+            }
+            CompletableFuture<PutEventsResponse> response;
+            try {
+                response = sender.apply(request);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete((result, error) -> {
+                if (error != null || allEntriesFailed(result)) {
+                    onFailure();
+                } else {
+                    onSuccess();
+                }
+            });
+        };
+    }
+
+    // True while calls are failing fast; false again once a probe is due
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return state == State.OPEN && nanoClock.getAsLong() - openedAt < openNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // True from the end of the open duration until a probe decides: only one call would get through, so
+    // callers should offer at most one request's worth of events
+    public boolean isHalfOpen() {
+        lock.lock();
+        try {
+            return state == State.HALF_OPEN
+                    || (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    <T> CompletableFuture<T> rejected(int events) {
+        rejected.increment(events);
+        return CompletableFuture.failedFuture(new CircuitOpenException("EventBridge circuit breaker is open"));
+    }
+
+    private boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> {
+                    if (nanoClock.getAsLong() - openedAt < openNanos) {
+                        yield false;
+                    }
+                    state = State.HALF_OPEN;
+                    probing = true;
+                    yield true;
+                }
+                // One probe at a time
+                case HALF_OPEN -> {
+                    if (probing) {
+                        yield false;
+                    }
+                    probing = true;
+                    yield true;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            probing = false;
+            state = State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure() {
+        lock.lock();
+        try {
+            probing = false;
+            if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = nanoClock.getAsLong();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean allEntriesFailed(PutEventsResponse response) {
+        var failed = response.failedEntryCount();
+        return failed != null && failed > 0 && failed == response.entries().size();
+    }
+}
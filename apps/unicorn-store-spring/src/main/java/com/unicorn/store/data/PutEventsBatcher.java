@@ -0,0 +1,222 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.exceptions.CircuitOpenException;
+import com.unicorn.store.exceptions.PublisherException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Micro-batching PutEvents pipeline: entries are grouped into requests of up to 10 entries / 256 KB
+// (the EventBridge limits), waiting at most 'linger' for a batch to fill. Only the entries
+// EventBridge reports as failed are retried; each caller's future completes with its own result.
+public class PutEventsBatcher implements AutoCloseable {
+    public static final int MAX_ENTRIES = 10;
+    static final int MAX_REQUEST_BYTES = 256 * 1024;
+    // EventBridge counts a fixed 14 bytes for the Time field of every entry
+    private static final int TIME_FIELD_BYTES = 14;
+
+    private static final Logger logger = LoggerFactory.getLogger(PutEventsBatcher.class);
+
+    private final Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> sender;
+    private final Duration linger;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchEntries;
+    private final Counter retries;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public PutEventsBatcher(Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> sender,
+                            Duration linger, int maxAttempts, Duration retryBackoff, int maxInFlight,
+                            MeterRegistry meterRegistry) {
+        this.sender = sender;
+        this.linger = linger;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchEntries = DistributionSummary.builder("unicorn.publish.batch.entries")
+                .description("Entries per PutEvents request")
+                .register(meterRegistry);
+        this.retries = Counter.builder("unicorn.publish.retries")
+                .description("PutEvents entries retried after a failure")
+                .register(meterRegistry);
+        this.flusher = Thread.ofVirtual().name("put-events-batcher").start(this::run);
+    }
+
+    public CompletableFuture<PutEventsResultEntry> submit(PutEventsRequestEntry entry) {
+        var size = entrySize(entry);
+        if (size > MAX_REQUEST_BYTES) {
+            return CompletableFuture.failedFuture(
+                    new PublisherException("Event of " + size + " bytes exceeds the PutEvents limit", null));
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new PublisherException("Publisher is shut down", null));
+        }
+        var pending = new PendingEntry(entry, size);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void run() {
+        PendingEntry carryOver = null;
+        while (running || carryOver != null || !queue.isEmpty()) {
+            try {
+                var first = carryOver != null ? carryOver : queue.poll(100, TimeUnit.MILLISECONDS);
+                carryOver = null;
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingEntry> batch = new ArrayList<>(MAX_ENTRIES);
+                batch.add(first);
+                int bytes = first.size;
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < MAX_ENTRIES) {
+                    var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (bytes + next.size > MAX_REQUEST_BYTES) {
+                        carryOver = next;
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += next.size;
+                }
+
+                inFlight.acquire();
+                send(batch);
+            } catch (InterruptedException _) {
+                // Java 22 unnamed variable (_)
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (carryOver != null) {
+            carryOver.future.completeExceptionally(new PublisherException("Publisher is shut down", null));
+        }
+        queue.forEach(pending -> pending.future.completeExceptionally(
+                new PublisherException("Publisher is shut down", null)));
+    }
+
+    private void send(List<PendingEntry> batch) {
+        batchEntries.record(batch.size());
+        var request = PutEventsRequest.builder()
+                .entries(batch.stream().map(pending -> pending.entry).toList())
+                .build();
+
+        CompletableFuture<PutEventsResponse> response;
+        try {
+            response = sender.apply(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        response.whenComplete((result, error) -> {
+            inFlight.release();
+            if (error != null) {
+                // Rejected by the circuit breaker: retrying within the backoff would only be rejected again
+                var cause = error instanceof CompletionException completion ? completion.getCause() : error;
+                if (cause instanceof CircuitOpenException) {
+                    batch.forEach(pending -> pending.future.completeExceptionally(cause));
+                } else {
+                    batch.forEach(pending -> retryOrFail(pending, error));
+                }
+                return;
+            }
+            // Result entries are in the same order as the request entries
+            var results = result.entries();
+            for (int i = 0; i < batch.size(); i++) {
+                var pending = batch.get(i);
+                var entryResult = i < results.size() ? results.get(i) : null;
+                if (entryResult != null && entryResult.errorCode() == null) {
+                    pending.future.complete(entryResult);
+                } else {
+                    var reason = entryResult == null
+                            ? "missing result entry"
+                            : entryResult.errorCode() + ": " + entryResult.errorMessage();
+                    retryOrFail(pending, new PublisherException("EventBridge rejected entry - " + reason, null));
+                }
+            }
+        });
+    }
+
+    private void retryOrFail(PendingEntry pending, Throwable error) {
+        if (!running || pending.attempts >= maxAttempts) {
+            pending.future.completeExceptionally(error);
+            return;
+        }
+        retries.increment();
+        var delay = retryBackoff.toMillis() * pending.attempts++;
+        logger.debug("Retrying PutEvents entry (attempt {}) in {} ms", pending.attempts, delay);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (running) {
+                queue.add(pending);
+            } else {
+                pending.future.completeExceptionally(error);
+            }
+        });
+    }
+
+    static int entrySize(PutEventsRequestEntry entry) {
+        int size = TIME_FIELD_BYTES;
+        size += utf8Length(entry.source());
+        size += utf8Length(entry.detailType());
+        size += utf8Length(entry.detail());
+        size += utf8Length(entry.eventBusName());
+        if (entry.hasResources()) {
+            for (var resource : entry.resources()) {
+                size += utf8Length(resource);
+            }
+        }
+        return size;
+    }
+
+    private static int utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // Flushes what is already queued, then stops; later submissions fail fast
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(Duration.ofSeconds(10));
+        } catch (InterruptedException _) {
+            // Java 22 unnamed variable (_)
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingEntry {
+        private final PutEventsRequestEntry entry;
+        private final int size;
+        private final CompletableFuture<PutEventsResultEntry> future = new CompletableFuture<>();
+        private int attempts = 1;
+
+        private PendingEntry(PutEventsRequestEntry entry, int size) {
+            this.entry = entry;
+            this.size = size;
+        }
+    }
+}
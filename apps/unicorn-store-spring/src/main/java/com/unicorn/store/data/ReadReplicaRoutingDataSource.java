@@ -0,0 +1,109 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.context.RequestContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+// Sends read-only transactions (@Transactional(readOnly = true)) to the reader pool and everything else
+// to the writer. The transaction's read-only flag is only known after the transaction manager has asked
+// for a connection, so this must sit behind a LazyConnectionDataSourceProxy (see ReadReplicaConfig), which
+// fetches the physical connection on the first statement.
+// Read-your-writes: once a read-write transaction of the current request (RequestContext.WRITES) has
+// committed, its read-only transactions stay on the writer for readYourWritesWindow, so a replica lagging
+// behind cannot hide the change. Zero disables the window; outside a request reads always go to the reader.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { WRITER, READER }
+
+    private final Duration readYourWritesWindow;
+    private final Route writes;
+    private final Route reads;
+    private final Route readYourWrites;
+    private final Route nonTransactional;
+
+    public ReadReplicaRoutingDataSource(DataSource writer, DataSource reader, Duration readYourWritesWindow,
+                                        MeterRegistry meterRegistry) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.writes = routed(meterRegistry, Target.WRITER, "write");
+        this.reads = routed(meterRegistry, Target.READER, "read");
+        this.readYourWrites = routed(meterRegistry, Target.WRITER, "read_your_writes");
+        this.nonTransactional = routed(meterRegistry, Target.WRITER, "no_transaction");
+        setTargetDataSources(Map.of(Target.WRITER, writer, Target.READER, reader));
+        setDefaultTargetDataSource(writer);
+        afterPropertiesSet();
+    }
+
+    // Also used by unwrap()/isWrapperFor(), so it only decides; counting and commit tracking happen
+    // when a connection is actually handed out
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route().target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target(route()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target(route()).getConnection(username, password);
+    }
+
+    private DataSource target(Route route) {
+        route.counter.increment();
+        if (route == writes) {
+            trackCommit();
+        }
+        return getResolvedDataSources().get(route.target);
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return nonTransactional;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return writes;
+        }
+        if (!readYourWritesWindow.isZero() && RequestContext.WRITES.isBound()
+                && RequestContext.WRITES.get().wroteWithin(readYourWritesWindow)) {
+            return readYourWrites;
+        }
+        return reads;
+    }
+
+    // The window starts when the write is visible on the writer, i.e. at commit
+    private void trackCommit() {
+        if (readYourWritesWindow.isZero() || !RequestContext.WRITES.isBound()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        var tracker = RequestContext.WRITES.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.markWrite();
+            }
+        });
+    }
+
+    private static Route routed(MeterRegistry meterRegistry, Target target, String reason) {
+        return new Route(target, Counter.builder("unicorn.datasource.routing")
+                .description("Connections routed to the writer or the reader pool")
+                .tag("target", target.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(meterRegistry));
+    }
+
+    private record Route(Target target, Counter counter) {}
+}
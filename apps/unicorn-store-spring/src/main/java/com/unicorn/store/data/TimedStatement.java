@@ -0,0 +1,362 @@
+package com.unicorn.store.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+// Statement wrapper handed out by InstrumentedDataSource. execute* calls are timed and their rows counted;
+// every other method is a plain delegating call, so binding parameters and reading results cost no more
+// than one extra virtual call (no reflection, no argument arrays).
+class TimedStatement<S extends Statement> implements Statement {
+
+    protected final S delegate;
+    protected final InstrumentedDataSource dataSource;
+    // Fixed for prepared statements; plain statements take the SQL passed to execute*/addBatch
+    protected InstrumentedDataSource.StatementMeters meters;
+
+    TimedStatement(S delegate, InstrumentedDataSource dataSource, InstrumentedDataSource.StatementMeters meters) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.meters = meters;
+    }
+
+    @FunctionalInterface
+    protected interface Execution<T> {
+        T run() throws SQLException;
+    }
+
+    // sql is null for the parameterless execute methods of prepared statements
+    protected final <T> T timed(String sql, Execution<T> execution) throws SQLException {
+        if (sql != null) {
+            meters = dataSource.meters(sql);
+        }
+        long start = System.nanoTime();
+        try {
+            return execution.run();
+        } finally {
+            dataSource.recordExecution(meters, System.nanoTime() - start);
+        }
+    }
+
+    protected final ResultSet counted(ResultSet resultSet) {
+        return resultSet == null ? null : new CountingResultSet(resultSet, meters);
+    }
+
+    protected final int updated(int count) {
+        if (count >= 0) {
+            meters.rows().record(count);
+        }
+        return count;
+    }
+
+    protected final long updatedLarge(long count) {
+        if (count >= 0) {
+            meters.rows().record(count);
+        }
+        return count;
+    }
+
+    protected final int[] batched(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        meters.rows().record(total);
+        return counts;
+    }
+
+    protected final long[] batchedLarge(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += Math.max(count, 0);
+        }
+        meters.rows().record(total);
+        return counts;
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return counted(timed(sql, () -> delegate.executeQuery(sql)));
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return updated(timed(sql, () -> delegate.executeUpdate(sql)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return updated(timed(sql, () -> delegate.executeUpdate(sql, autoGeneratedKeys)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return updated(timed(sql, () -> delegate.executeUpdate(sql, columnIndexes)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return updated(timed(sql, () -> delegate.executeUpdate(sql, columnNames)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        return updatedLarge(timed(sql, () -> delegate.executeLargeUpdate(sql)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return updatedLarge(timed(sql, () -> delegate.executeLargeUpdate(sql, autoGeneratedKeys)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return updatedLarge(timed(sql, () -> delegate.executeLargeUpdate(sql, columnIndexes)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        return updatedLarge(timed(sql, () -> delegate.executeLargeUpdate(sql, columnNames)));
+    }
+
+    // Rows of a result, if any, are counted when it is fetched with getResultSet()
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        return timed(sql, () -> delegate.execute(sql));
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return timed(sql, () -> delegate.execute(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return timed(sql, () -> delegate.execute(sql, columnIndexes));
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return timed(sql, () -> delegate.execute(sql, columnNames));
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        meters = dataSource.meters(sql);
+        delegate.addBatch(sql);
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return batched(timed(null, delegate::executeBatch));
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return batchedLarge(timed(null, delegate::executeLargeBatch));
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return counted(delegate.getResultSet());
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    // Plain delegation
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return delegate.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        delegate.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return delegate.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        delegate.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        delegate.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return delegate.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        delegate.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        delegate.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        delegate.setCursorName(name);
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return delegate.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return delegate.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        delegate.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return delegate.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return delegate.getResultSetType();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        delegate.clearBatch();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return delegate.getConnection();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return delegate.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return delegate.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return delegate.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        delegate.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return delegate.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        delegate.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return delegate.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return delegate.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        delegate.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return delegate.getLargeMaxRows();
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return delegate.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return delegate.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return delegate.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return delegate.enquoteNCharLiteral(val);
+    }
+}
@@ -0,0 +1,12 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.Unicorn;
+
+import java.util.List;
+
+// Custom repository fragment for bulk writes that bypass save()/merge()
+public interface UnicornBulkRepository {
+
+    // Persists new unicorns (IDs already assigned) in JDBC-batch-sized chunks
+    void insertAll(List<Unicorn> unicorns);
+}
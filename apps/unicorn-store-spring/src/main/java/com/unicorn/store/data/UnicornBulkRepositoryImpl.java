@@ -0,0 +1,33 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.Unicorn;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+// persist() skips the SELECT that merge() issues for entities with assigned IDs, and flushing
+// every jdbcBatchSize rows sends each chunk as a single JDBC batch (hibernate.jdbc.batch_size).
+// Clearing after each flush keeps the persistence context small for large imports.
+class UnicornBulkRepositoryImpl implements UnicornBulkRepository {
+
+    private final EntityManager entityManager;
+    private final int jdbcBatchSize;
+
+    UnicornBulkRepositoryImpl(EntityManager entityManager,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
+        this.entityManager = entityManager;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public void insertAll(List<Unicorn> unicorns) {
+        for (int i = 0; i < unicorns.size(); i++) {
+            entityManager.persist(unicorns.get(i));
+            if ((i + 1) % jdbcBatchSize == 0 || i == unicorns.size() - 1) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.ExportFormat;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Full-table export through PostgreSQL COPY ... TO STDOUT: the server formats the rows (CSV or binary) and
+// CopyManager hands each CopyData message straight to the output stream, so no entity, String or JSON node
+// is created per row. Runs on the connection of the surrounding (read-only) transaction, which the pool
+// proxies pass through to the PgJDBC connection via unwrap(). Unordered on purpose: a sequential scan
+// streams faster than walking the primary key index.
+@Component
+public class UnicornCopyExporter {
+
+    static final String COLUMNS = "id, name, age, size, type, version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UnicornCopyExporter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // Returns the number of rows written; fails with UnsupportedOperationException before writing
+    // anything when the database is not PostgreSQL (e.g. the H2 training and test fallback)
+    public long copyTo(ExportFormat format, OutputStream out) throws IOException {
+        var sql = "COPY unicorns (" + COLUMNS + ") TO STDOUT WITH (" + format.copyOptions() + ")";
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    throw new UnsupportedOperationException("Export requires PostgreSQL COPY support");
+                }
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.unicorn.store.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.exceptions.PublisherException;
+import com.unicorn.store.model.OutboxEvent;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornEventType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records unicorn events in the outbox table inside the caller's transaction,
+// so an event exists if and only if the change it describes was committed
+@Component
+public class UnicornEventOutbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock = Clock.systemUTC();
+
+    public UnicornEventOutbox(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(Unicorn unicorn, UnicornEventType eventType) {
+        try {
+            var payload = objectMapper.writeValueAsString(unicorn);
+            return outboxRepository.save(new OutboxEvent(unicorn.getId(), eventType, payload, clock.instant()));
+        } catch (JsonProcessingException e) {
+            throw new PublisherException("Failed to serialize unicorn " + unicorn.getId(), e);
+        }
+    }
+
+    // One outbox row per unicorn, saved together so the inserts share JDBC batches
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<Unicorn> unicorns, UnicornEventType eventType) {
+        var now = clock.instant();
+        var events = new ArrayList<OutboxEvent>(unicorns.size());
+        for (var unicorn : unicorns) {
+            try {
+                events.add(new OutboxEvent(unicorn.getId(), eventType, objectMapper.writeValueAsString(unicorn), now));
+            } catch (JsonProcessingException e) {
+                throw new PublisherException("Failed to serialize unicorn " + unicorn.getId(), e);
+            }
+        }
+        outboxRepository.saveAll(events);
+    }
+}
@@ -2,84 +2,185 @@ package com.unicorn.store.data;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.exceptions.PublisherException;
 import com.unicorn.store.model.Unicorn;
 import com.unicorn.store.model.UnicornEventType;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
+// Checkpoint/restore (CRaC): the client's connections and the batcher's flusher thread must not be
+// captured in a checkpoint. Both are closed before it and recreated after restore; registering is
+// a no-op on JVMs without CRaC support.
+// Every PutEvents call is bounded by callTimeout and goes through a circuit breaker
+// (PublisherCircuitBreaker): while EventBridge is unhealthy, publishes fail fast and the events
+// wait in the outbox instead of tying up the relay.
 @Service
-public class UnicornPublisher {
+public class UnicornPublisher implements Resource {
 
     private final ObjectMapper objectMapper;
 
     private final Logger logger = LoggerFactory.getLogger(UnicornPublisher.class);
 
-    private EventBridgeAsyncClient eventBridgeClient;
+    private final MeterRegistry meterRegistry;
 
-    public UnicornPublisher(ObjectMapper objectMapper) {
+    private final Duration linger;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final int maxInFlight;
+
+    private final Duration callTimeout;
+
+    private final PublisherCircuitBreaker circuitBreaker;
+
+    private volatile EventBridgeAsyncClient eventBridgeClient;
+
+    private volatile PutEventsBatcher batcher;
+
+    public UnicornPublisher(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${unicorn.publisher.linger:20ms}") Duration linger,
+                            @Value("${unicorn.publisher.max-attempts:3}") int maxAttempts,
+                            @Value("${unicorn.publisher.retry-backoff:200ms}") Duration retryBackoff,
+                            @Value("${unicorn.publisher.max-in-flight:8}") int maxInFlight,
+                            @Value("${unicorn.publisher.call-timeout:2s}") Duration callTimeout,
+                            @Value("${unicorn.publisher.circuit.failure-threshold:5}") int failureThreshold,
+                            @Value("${unicorn.publisher.circuit.open-duration:10s}") Duration openDuration) {
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.linger = linger;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxInFlight = maxInFlight;
+        this.callTimeout = callTimeout;
+        this.circuitBreaker = new PublisherCircuitBreaker(failureThreshold, openDuration, meterRegistry);
     }
 
     @PostConstruct
     public void init() {
         createClient();
+        createBatcher();
+        Core.getGlobalContext().register(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batcher.close();
+        closeClient();
     }
 
     @Observed(name = "unicorn.publish")
-    public CompletableFuture<PutEventsResponse> publish(Unicorn unicorn, UnicornEventType unicornEventType) {
+    public CompletableFuture<PutEventsResultEntry> publish(Unicorn unicorn, UnicornEventType unicornEventType) {
         try {
             var unicornJson = objectMapper.writeValueAsString(unicorn);
-            logger.debug("Publishing event type: {}", unicornEventType);
-            logger.debug("Event payload: {}", unicornJson);
-
-            var eventsRequest = createEventRequestEntry(unicornEventType, unicornJson);
-            return eventBridgeClient.putEvents(eventsRequest)
-                    .thenApply(response -> {
-                        logger.info("Successfully published event type: {} for unicorn ID: {}",
-                                unicornEventType, unicorn.getId());
-                        return response;
-                    })
-                    .exceptionally(throwable -> {
-                        logger.error("Failed to publish event type: {} for unicorn ID: {}",
-                                unicornEventType, unicorn.getId(), throwable);
-                        throw new RuntimeException("Failed to publish event", throwable);
-                    });
+            return publish(unicornEventType, unicorn.getId(), unicornJson);
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize unicorn object", e);
             return CompletableFuture.failedFuture(e);
         }
     }
 
-    private PutEventsRequest createEventRequestEntry(UnicornEventType unicornEventType, String unicornJson) {
-        return PutEventsRequest.builder()
-                .entries(PutEventsRequestEntry.builder()
-                        .source("com.unicorn.store")
-                        .eventBusName("unicorns")
-                        .detailType(unicornEventType.name())
-                        .detail(unicornJson)
-                        .build())
+    // Publishes an already serialized unicorn, e.g. a payload relayed from the outbox.
+    // The entry is sent as part of a micro-batch (see PutEventsBatcher).
+    @Observed(name = "unicorn.publish")
+    public CompletableFuture<PutEventsResultEntry> publish(UnicornEventType unicornEventType, String unicornId,
+                                                           String unicornJson) {
+        logger.debug("Publishing event type: {}", unicornEventType);
+        logger.debug("Event payload: {}", unicornJson);
+
+        if (circuitBreaker.isOpen()) {
+            logger.debug("EventBridge circuit open, not publishing event type: {} for unicorn ID: {}",
+                    unicornEventType, unicornId);
+            return circuitBreaker.rejected(1);
+        }
+        var entry = createEventRequestEntry(unicornEventType, unicornJson);
+        return batcher.submit(entry)
+                .thenApply(response -> {
+                    logger.info("Successfully published event type: {} for unicorn ID: {}",
+                            unicornEventType, unicornId);
+                    return response;
+                })
+                .exceptionally(throwable -> {
+                    logger.error("Failed to publish event type: {} for unicorn ID: {}",
+                            unicornEventType, unicornId, throwable);
+                    throw new PublisherException("Failed to publish event", throwable);
+                });
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    public boolean isCircuitHalfOpen() {
+        return circuitBreaker.isHalfOpen();
+    }
+
+    public PublisherCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private PutEventsRequestEntry createEventRequestEntry(UnicornEventType unicornEventType, String unicornJson) {
+        return PutEventsRequestEntry.builder()
+                .source("com.unicorn.store")
+                .eventBusName("unicorns")
+                .detailType(unicornEventType.name())
+                .detail(unicornJson)
                 .build();
     }
 
+    // Entries already queued are still sent; publishes during the checkpoint fail fast and the
+    // outbox relay retries them after restore
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        logger.info("Flushing publisher and closing EventBridgeAsyncClient before checkpoint");
+        batcher.close();
+        closeClient();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        logger.info("Recreating EventBridgeAsyncClient after restore");
+        createClient();
+        createBatcher();
+    }
+
+    private void createBatcher() {
+        // Reads the client field per request, so a recreated client is picked up
+        batcher = new PutEventsBatcher(circuitBreaker.protect(request -> eventBridgeClient.putEvents(request)),
+                linger, maxAttempts, retryBackoff, maxInFlight, meterRegistry);
+    }
+
     private void createClient() {
         logger.info("Creating EventBridgeAsyncClient");
 
         eventBridgeClient = EventBridgeAsyncClient
                 .builder()
                 .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                // Covers retries too; a hanging endpoint counts as a failure for the circuit breaker
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(callTimeout)
+                        .build())
                 .build();
     }
 
@@ -0,0 +1,14 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
+
+import java.util.List;
+import java.util.Set;
+
+// Custom repository fragment for filtered, projected list queries
+public interface UnicornQueryRepository {
+
+    // Keyset page ordered by ID; only the filters that are set become predicates, only 'fields' are selected
+    List<UnicornView> findPage(UnicornFilter filter, Set<String> fields, String after, int limit);
+}
@@ -0,0 +1,71 @@
+package com.unicorn.store.data;
+
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Builds the query from the filters that are actually present, so each combination is a plain
+// conjunction the planner can match to an index (schema.sql: unicorns_type_size_age_idx,
+// unicorns_size_age_idx, unicorns_age_idx) instead of a catch-all "(:p is null or col = :p)" query.
+// Those indexes find the matches, but the id order of a filtered page costs a sort of the matching rows.
+// The constructor expression selects only the requested columns; the rest are SQL NULLs.
+class UnicornQueryRepositoryImpl implements UnicornQueryRepository {
+
+    private final EntityManager entityManager;
+
+    UnicornQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UnicornView> findPage(UnicornFilter filter, Set<String> fields, String after, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(UnicornView.class);
+        var unicorn = query.from(Unicorn.class);
+
+        query.select(cb.construct(UnicornView.class,
+                unicorn.get("id"),
+                column(cb, unicorn, fields, "name"),
+                column(cb, unicorn, fields, "age"),
+                column(cb, unicorn, fields, "size"),
+                column(cb, unicorn, fields, "type"),
+                unicorn.get("version")));
+
+        var predicates = new ArrayList<Predicate>();
+        if (filter.type() != null) {
+            predicates.add(cb.equal(unicorn.get("type"), filter.type()));
+        }
+        if (filter.size() != null) {
+            predicates.add(cb.equal(unicorn.get("size"), filter.size()));
+        }
+        if (filter.minAge() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(unicorn.get("ageYears"), filter.minAge()));
+        }
+        if (filter.maxAge() != null) {
+            predicates.add(cb.lessThanOrEqualTo(unicorn.get("ageYears"), filter.maxAge()));
+        }
+        if (after != null) {
+            predicates.add(cb.greaterThan(unicorn.get("id"), after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(unicorn.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Selection<String> column(CriteriaBuilder cb, Root<Unicorn> unicorn, Set<String> fields,
+                                            String name) {
+        return fields.contains(name) ? unicorn.get(name) : cb.nullLiteral(String.class);
+    }
+}
@@ -1,9 +1,60 @@
 package com.unicorn.store.data;
 
 import com.unicorn.store.model.Unicorn;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface UnicornRepository extends CrudRepository<Unicorn, String > {
+public interface UnicornRepository extends CrudRepository<Unicorn, String >, UnicornBulkRepository,
+        UnicornQueryRepository {
+
+    // Keyset pagination on the primary key - first page
+    List<Unicorn> findAllByOrderByIdAsc(Limit limit);
+
+    // Keyset pagination on the primary key - pages after the given cursor
+    List<Unicorn> findByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+
+    // Cursor-backed stream: the JDBC driver fetches rows in chunks instead of buffering the whole table.
+    // Must be consumed inside a transaction (PostgreSQL only honours the fetch size with autocommit off).
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from unicorns u order by u.id")
+    Stream<Unicorn> streamAll();
+
+    // Single-statement mutations returning the affected row count (0 = missing or stale version)
+    @Modifying
+    @Query("""
+        update unicorns u
+        set u.name = :#{#unicorn.name}, u.age = :#{#unicorn.age}, u.size = :#{#unicorn.size},
+            u.type = :#{#unicorn.type}, u.ageYears = :#{#unicorn.ageYears}, u.version = u.version + 1
+        where u.id = :id""")
+    int updateById(@Param("id") String id, @Param("unicorn") Unicorn unicorn);
+
+    @Modifying
+    @Query("""
+        update unicorns u
+        set u.name = :#{#unicorn.name}, u.age = :#{#unicorn.age}, u.size = :#{#unicorn.size},
+            u.type = :#{#unicorn.type}, u.ageYears = :#{#unicorn.ageYears}, u.version = u.version + 1
+        where u.id = :id and u.version = :version""")
+    int updateByIdAndVersion(@Param("id") String id, @Param("version") long version, @Param("unicorn") Unicorn unicorn);
+
+    @Modifying
+    @Query("delete from unicorns u where u.id = :id")
+    int deleteByIdReturningCount(@Param("id") String id);
+
+    @Modifying
+    @Query("delete from unicorns u where u.id = :id and u.version = :version")
+    int deleteByIdAndVersion(@Param("id") String id, @Param("version") long version);
 }
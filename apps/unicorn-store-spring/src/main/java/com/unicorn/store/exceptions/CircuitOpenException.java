@@ -0,0 +1,10 @@
+package com.unicorn.store.exceptions;
+
+// A publish failed fast by the open (or probing) EventBridge circuit breaker; never worth retrying
+// before the breaker lets calls through again
+public class CircuitOpenException extends PublisherException {
+
+    public CircuitOpenException(String errorMessage) {
+        super(errorMessage, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.unicorn.store.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+// Thrown by AdmissionControlledDataSource instead of queueing on the pool; surfaces as 503
+public class ConnectionAdmissionException extends SQLTransientConnectionException {
+
+    public ConnectionAdmissionException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.unicorn.store.exceptions;
+
+public class VersionConflictException extends RuntimeException{
+    public VersionConflictException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,169 @@
+package com.unicorn.store.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Adaptive concurrency limit using a latency gradient, after Gradient2Limit in Netflix concurrency-limits.
+// Requests beyond the limit are shed straight away. Without this they would queue on virtual threads for
+// the DB pool or EventBridge. Latencies are averaged per window. A slow moving average of the window
+// latencies tracks the unloaded baseline. Each window the limit is scaled by the gradient
+// tolerance * baseline / latency (capped to [0.5, 1]) plus sqrt(limit) headroom. The limit therefore
+// probes upwards while latency holds and shrinks once requests queue somewhere downstream. A window with a
+// dropped request (a 503 from further down, e.g. admission control) backs the limit off multiplicatively.
+public class AdaptiveConcurrencyLimiter {
+    // Samples a window needs before it is evaluated
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    // Windows averaged into the baseline latency; the first ones are a plain average
+    private static final int BASELINE_WINDOWS = 600;
+    private static final int WARMUP_WINDOWS = 10;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Not a monitor: completing virtual threads contend for it, and waiting on a monitor pins the carrier before JDK 24
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter shed;
+    private volatile int limit;
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private double baselineNanos;
+    private int windows;
+    private long windowStart;
+    private long windowLatencyNanos;
+    private int windowSamples;
+    private int windowDrops;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, Duration window, MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, tolerance, smoothing, window, System::nanoTime, meterRegistry);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, Duration window, LongSupplier nanoClock,
+                                      MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.windowStart = nanoClock.getAsLong();
+        this.shed = Counter.builder("unicorn.concurrency.shed")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("unicorn.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("unicorn.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+    }
+
+    // Empty when the request has to be shed; otherwise exactly one of onSuccess, onDropped or onIgnore must follow
+    public Optional<Permit> tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(nanoClock.getAsLong(), current));
+    }
+
+    public void onSuccess(Permit permit) {
+        release(permit, false);
+    }
+
+    // The request was rejected further down because of overload
+    public void onDropped(Permit permit) {
+        release(permit, true);
+    }
+
+    // The latency says nothing about load (e.g. an async response still being written)
+    public void onIgnore(Permit permit) {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void release(Permit permit, boolean dropped) {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            if (dropped) {
+                windowDrops++;
+            } else {
+                windowLatencyNanos += now - permit.startNanos();
+                windowSamples++;
+            }
+            windowMaxInFlight = Math.max(windowMaxInFlight, permit.inFlight());
+            if (windowSamples + windowDrops >= MIN_WINDOW_SAMPLES && now - windowStart >= windowNanos) {
+                update();
+                windowStart = now;
+                windowLatencyNanos = 0;
+                windowSamples = 0;
+                windowDrops = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update() {
+        if (windowDrops > 0) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+            limit = (int) estimatedLimit;
+            return;
+        }
+        // At least 1 ns, so a clock that did not move cannot divide by zero
+        double latency = Math.max(1, (double) windowLatencyNanos / windowSamples);
+        windows++;
+        if (windows <= WARMUP_WINDOWS) {
+            baselineNanos += (latency - baselineNanos) / windows;
+        } else {
+            baselineNanos += (latency - baselineNanos) * 2 / (BASELINE_WINDOWS + 1);
+        }
+        // Let the baseline recover quickly once latency has dropped well below it
+        if (baselineNanos / latency > 2) {
+            baselineNanos *= 0.95;
+        }
+        // Too few requests to tell whether a higher limit would be sustainable
+        if (windowMaxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.clamp(tolerance * baselineNanos / latency, 0.5, 1.0);
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    public record Permit(long startNanos, int inFlight) {}
+}
@@ -0,0 +1,97 @@
+package com.unicorn.store.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Load shedding for the store API (/unicorns/**): requests beyond the adaptive concurrency limit
+// (AdaptiveConcurrencyLimiter) are answered 503 with Retry-After before they take a virtual thread's
+// worth of DB pool or EventBridge time. Runs right after RequestContextFilter, so shed requests still
+// carry a request ID. Actuator and the thread generator API are not limited.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "unicorn.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private static final String LIMITED_PATH = "/unicorns";
+    // Full-table export: holds a connection like any other request, but its duration follows the table size
+    private static final String EXPORT_PATH = "/unicorns/export";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${unicorn.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${unicorn.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${unicorn.concurrency.max-limit:500}") int maxLimit,
+                                  @Value("${unicorn.concurrency.tolerance:2.0}") double tolerance,
+                                  @Value("${unicorn.concurrency.smoothing:0.2}") double smoothing,
+                                  @Value("${unicorn.concurrency.window:1s}") Duration window,
+                                  @Value("${unicorn.concurrency.retry-after:1s}") Duration retryAfter) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                window, meterRegistry);
+        // Retry-After takes whole seconds
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = path(request);
+        return !(path.equals(LIMITED_PATH) || path.startsWith(LIMITED_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        var permit = limiter.tryAcquire();
+        if (permit.isEmpty()) {
+            logger.debug("Shed {} {} at concurrency limit {}", request.getMethod(), request.getRequestURI(),
+                    limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service overloaded, retry later");
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed || request.isAsyncStarted() || isExport(request)) {
+                // Failed requests and streams (NDJSON, export) say nothing about latency under load
+                limiter.onIgnore(permit.get());
+            } else if (response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+                // Shed further down, e.g. by connection admission control
+                limiter.onDropped(permit.get());
+            } else {
+                limiter.onSuccess(permit.get());
+            }
+        }
+    }
+
+    private static boolean isExport(HttpServletRequest request) {
+        return path(request).equals(EXPORT_PATH);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -1,6 +1,8 @@
 package com.unicorn.store.filter;
 
 import com.unicorn.store.context.RequestContext;
+import com.unicorn.store.context.WriteTracker;
+import com.unicorn.store.data.UuidV7;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,9 +15,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
-// Binds request ID to ScopedValue for the duration of each HTTP request
+// Binds request ID (and the request's write tracker) to ScopedValues for the duration of each HTTP request
 @Component("scopedValueRequestContextFilter")
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestContextFilter implements Filter {
@@ -25,11 +26,14 @@ public class RequestContextFilter implements Filter {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response,
                          FilterChain chain) throws IOException, ServletException {
-        String requestId = UUID.randomUUID().toString();
+        // Time-ordered, so request IDs in logs sort by arrival; no SecureRandom on the request path
+        String requestId = UuidV7.nextString();
 
         // Java 25 Scoped Values (JEP 506) - value auto-cleaned when run() completes
         try {
-            ScopedValue.where(RequestContext.REQUEST_ID, requestId).run(() -> {
+            var scope = ScopedValue.where(RequestContext.REQUEST_ID, requestId)
+                    .where(RequestContext.WRITES, new WriteTracker());
+            scope.run(() -> {
                 logger.debug("[{}] Request started", requestId);
                 try {
                     chain.doFilter(request, response);
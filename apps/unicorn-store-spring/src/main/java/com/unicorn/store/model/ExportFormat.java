@@ -0,0 +1,41 @@
+package com.unicorn.store.model;
+
+import java.util.Locale;
+
+// Output formats of GET /unicorns/export, mapped onto PostgreSQL COPY options
+public enum ExportFormat {
+    CSV("text/csv", "csv", "FORMAT csv, HEADER"),
+    // PostgreSQL binary COPY format (PGCOPY header, length-prefixed fields), readable by COPY ... FROM STDIN
+    BINARY("application/octet-stream", "pgcopy", "FORMAT binary");
+
+    private final String mediaType;
+    private final String fileExtension;
+    private final String copyOptions;
+
+    ExportFormat(String mediaType, String fileExtension, String copyOptions) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+        this.copyOptions = copyOptions;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public String copyOptions() {
+        return copyOptions;
+    }
+
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException _) {
+            // Java 22 unnamed variable (_)
+            throw new IllegalArgumentException("format must be csv or binary");
+        }
+    }
+}
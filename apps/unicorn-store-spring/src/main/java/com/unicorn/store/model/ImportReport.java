@@ -0,0 +1,9 @@
+package com.unicorn.store.model;
+
+import java.util.List;
+
+// Result of an NDJSON import: counts for every line, details for the first maxReportedErrors failures
+public record ImportReport(long imported, long failed, List<LineError> errors) {
+
+    public record LineError(long line, String message) {}
+}
@@ -0,0 +1,77 @@
+package com.unicorn.store.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+
+// Transactional outbox row - written in the same transaction as the unicorn change,
+// delivered to EventBridge later by UnicornOutboxRelay (at-least-once)
+@Entity(name = "unicorn_outbox")
+public class OutboxEvent {
+
+    // Generated on persist, so save() inserts directly instead of merging (and stays JDBC-batchable)
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private UnicornEventType eventType;
+
+    private String payload;
+
+    private Instant createdAt;
+
+    // Not delivered before this instant - pushed forward while a relay holds the row and on failure
+    private Instant availableAt;
+
+    private int attempts;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(String aggregateId, UnicornEventType eventType, String payload, Instant createdAt) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.availableAt = createdAt;
+    }
+
+    // Leases the row to the current relay run until the given instant
+    public void claimUntil(Instant until) {
+        this.availableAt = until;
+        this.attempts++;
+    }
+
+    public String getId() { return id; }
+    public String getAggregateId() { return aggregateId; }
+    public UnicornEventType getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getAvailableAt() { return availableAt; }
+    public int getAttempts() { return attempts; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OutboxEvent event)) return false;
+        return id != null && id.equals(event.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{id='%s', aggregateId='%s', eventType=%s, attempts=%d}"
+            .formatted(id, aggregateId, eventType, attempts);
+    }
+}
@@ -2,10 +2,17 @@ package com.unicorn.store.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.regex.Pattern;
+
 @Entity(name = "unicorns")
 public class Unicorn {
+    private static final Pattern WHOLE_YEARS = Pattern.compile("\\d{1,9}");
 
     @Id
     @JsonProperty("id")
@@ -23,6 +30,16 @@ public class Unicorn {
     @JsonProperty("type")
     private String type;
 
+    // Optimistic locking - exposed as the ETag, ignored in request bodies (use If-Match instead)
+    @Version
+    @JsonProperty(value = "version", access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Numeric copy of age for range filters (GET /unicorns?minAge=&maxAge=), NULL when age is not
+    // a whole number; derived on every write, never part of the API
+    @JsonIgnore
+    private Integer ageYears;
+
     public Unicorn() {}
 
     // Java 25 Flexible Constructor Bodies (JEP 513) - validation before super()
@@ -51,12 +68,26 @@ public class Unicorn {
     public String getAge() { return age; }
     public String getSize() { return size; }
     public String getType() { return type; }
+    public Long getVersion() { return version; }
+    @JsonIgnore
+    public Integer getAgeYears() { return parseAgeYears(age); }
 
     public void setId(String id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setAge(String age) { this.age = age; }
     public void setSize(String size) { this.size = size; }
     public void setType(String type) { this.type = type; }
+    public void setVersion(Long version) { this.version = version; }
+
+    @PrePersist
+    @PreUpdate
+    void deriveAgeYears() {
+        this.ageYears = parseAgeYears(age);
+    }
+
+    public static Integer parseAgeYears(String age) {
+        return age != null && WHOLE_YEARS.matcher(age).matches() ? Integer.valueOf(age) : null;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -72,7 +103,7 @@ public class Unicorn {
 
     @Override
     public String toString() {
-        return "Unicorn{id='%s', name='%s', age='%s', size='%s', type='%s'}"
-            .formatted(id, name, age, size, type);
+        return "Unicorn{id='%s', name='%s', age='%s', size='%s', type='%s', version=%s}"
+            .formatted(id, name, age, size, type, version);
     }
 }
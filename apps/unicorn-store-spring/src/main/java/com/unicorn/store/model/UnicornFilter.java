@@ -0,0 +1,7 @@
+package com.unicorn.store.model;
+
+// Attribute filters for GET /unicorns - null means "any"; the age bounds are inclusive whole years
+public record UnicornFilter(String type, String size, Integer minAge, Integer maxAge) {
+
+    public static final UnicornFilter NONE = new UnicornFilter(null, null, null, null);
+}
@@ -0,0 +1,13 @@
+package com.unicorn.store.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Set;
+
+// DTO projection for GET /unicorns: id and version (cursor and page ETag) are always selected,
+// the other columns only when requested through "fields" - unselected ones are left out of the JSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UnicornView(String id, String name, String age, String size, String type, Long version) {
+
+    public static final Set<String> OPTIONAL_FIELDS = Set.of("name", "age", "size", "type");
+}
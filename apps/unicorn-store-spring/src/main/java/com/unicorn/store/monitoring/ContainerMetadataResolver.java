@@ -0,0 +1,163 @@
+package com.unicorn.store.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Where this instance runs (ECS task or EKS pod), resolved once and memoized for the metric tags and
+// any other consumer. On ECS the task and container metadata documents are fetched concurrently over
+// one HttpClient, each bounded by unicorn.metadata.timeout: a slow or broken metadata endpoint costs
+// at most that timeout at startup and yields "unknown" values instead of holding up readiness.
+// The client is closed after each resolution so no idle connection outlives it (e.g. into a CRaC checkpoint).
+@Component
+public class ContainerMetadataResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ContainerMetadataResolver.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String CONTAINER_NAME = "unicorn-store-spring";
+    private static final Path NAMESPACE_FILE = Path.of("/var/run/secrets/kubernetes.io/serviceaccount/namespace");
+    private static final Path POD_NAME_FILE = Path.of("/etc/podinfo/name");
+
+    // namespace is empty on ECS
+    public record ContainerMetadata(String clusterType, String cluster, String containerName,
+                                    String taskOrPodId, String namespace, String ipAddress) {}
+
+    private final String ecsMetadataUri;
+    private final Duration timeout;
+
+    private volatile ContainerMetadata metadata;
+
+    public ContainerMetadataResolver(@Value("${unicorn.metadata.ecs-uri:}") String ecsMetadataUri,
+                                     @Value("${unicorn.metadata.timeout:1s}") Duration timeout) {
+        this.ecsMetadataUri = ecsMetadataUri;
+        this.timeout = timeout;
+    }
+
+    public ContainerMetadata metadata() {
+        var current = metadata;
+        if (current == null) {
+            synchronized (this) {
+                current = metadata;
+                if (current == null) {
+                    current = resolve();
+                    metadata = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Resolves again, e.g. after a CRaC restore into a different task or pod
+    public synchronized ContainerMetadata refresh() {
+        metadata = resolve();
+        return metadata;
+    }
+
+    private ContainerMetadata resolve() {
+        long start = System.nanoTime();
+        var resolved = ecsMetadataUri.isEmpty() ? resolveEks() : resolveEcs();
+        logger.info("Resolved container metadata in {} ms: {}", (System.nanoTime() - start) / 1_000_000, resolved);
+        return resolved;
+    }
+
+    private ContainerMetadata resolveEcs() {
+        JsonNode taskNode;
+        JsonNode containerNode;
+        var httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        try {
+            var task = fetch(httpClient, ecsMetadataUri + "/task");
+            var container = fetch(httpClient, ecsMetadataUri);
+            taskNode = task.join();
+            containerNode = container.join();
+        } finally {
+            // close() would wait for a response that timed out but is still being received
+            httpClient.shutdownNow();
+        }
+
+        // Task ARN: arn:aws:ecs:<region>:<account>:task/<cluster>/<task id>, cluster ARN: ...:cluster/<name>
+        var cluster = lastArnSegment(taskNode.path("Cluster").asText()).orElse("unknown");
+        var taskId = lastArnSegment(taskNode.path("TaskARN").asText()).orElse("unknown");
+        var ipAddress = Optional.of(containerNode.path("Networks").path(0).path("IPv4Addresses").path(0).asText())
+                .filter(ip -> !ip.isEmpty())
+                .or(ContainerMetadataResolver::podOrLocalIp)
+                .orElse("unknown");
+        return new ContainerMetadata("ecs", cluster, CONTAINER_NAME, taskId, "", ipAddress);
+    }
+
+    private ContainerMetadata resolveEks() {
+        return new ContainerMetadata("eks",
+                Optional.ofNullable(System.getenv("CLUSTER")).orElse("unknown"),
+                CONTAINER_NAME,
+                readFile(POD_NAME_FILE).orElse("unknown"),
+                readFile(NAMESPACE_FILE).orElse("default"),
+                podOrLocalIp().orElse("unknown"));
+    }
+
+    // Never fails: errors and timeouts are logged and yield a missing node
+    private CompletableFuture<JsonNode> fetch(HttpClient httpClient, String uri) {
+        var request = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(timeout)
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> parse(response.body()))
+                // Also bounds reading the body, which the request timeout does not cover
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    logger.warn("Container metadata from {} unavailable: {}", uri, e.toString());
+                    return MissingNode.getInstance();
+                });
+    }
+
+    private static JsonNode parse(String body) {
+        try {
+            return OBJECT_MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Malformed container metadata", e);
+        }
+    }
+
+    private static Optional<String> lastArnSegment(String arn) {
+        String[] parts = arn.split("/");
+        return parts.length > 1 ? Optional.of(parts[parts.length - 1]) : Optional.empty();
+    }
+
+    private static Optional<String> podOrLocalIp() {
+        String podIp = System.getenv("KUBERNETES_POD_IP");
+        if (podIp != null && !podIp.isEmpty()) {
+            return Optional.of(podIp);
+        }
+        try {
+            return Optional.of(InetAddress.getLocalHost().getHostAddress());
+        } catch (UnknownHostException _) {
+            // Java 22 unnamed variable (_)
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> readFile(Path path) {
+        try {
+            return Optional.of(Files.readString(path).trim());
+        } catch (IOException _) {
+            // Java 22 unnamed variable (_)
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.unicorn.store.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Streams JFR events in-process (RecordingStream) and turns them into meters, so pinning, contention and
+// GC pauses reach Prometheus without a JFR dump:
+// - jdk.VirtualThreadPinned -> unicorn.jfr.virtual.thread.pinned (timer)
+// - jdk.JavaMonitorEnter    -> unicorn.jfr.monitor.enter{monitor} (timer, time blocked on a synchronized monitor)
+// - jdk.ThreadPark          -> unicorn.jfr.thread.park{blocker} (timer; idle pool threads park too, hence the tag)
+// - jdk.GCPhasePause        -> unicorn.jfr.gc.pause{phase} (timer)
+// - jdk.ObjectAllocationSample -> unicorn.jfr.allocation (counter in bytes; each sample is weighted by the
+//   allocation it stands for, so rate() approximates the allocation rate)
+// Overhead is bounded by unicorn.jfr.*: duration thresholds for the blocking events, a throttle for the
+// allocation samples, and no stack traces, which are the most expensive part of an event and are not needed
+// for metrics. Tags are class names, bounded by the code base. Without JFR (e.g. a native image built without
+// --enable-monitoring=jfr) the meters stay at zero. The stream's thread and repository files must
+// not end up in a CRaC checkpoint, so it is closed before one and restarted after restore.
+@Component
+public class JfrEventMetrics implements Resource {
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration pinnedThreshold;
+    private final Duration contentionThreshold;
+    private final Duration gcPauseThreshold;
+    private final String allocationThrottle;
+
+    private final Timer pinned;
+    private final Counter allocated;
+
+    private volatile RecordingStream stream;
+
+    public JfrEventMetrics(MeterRegistry meterRegistry,
+                           @Value("${unicorn.jfr.enabled:true}") boolean enabled,
+                           @Value("${unicorn.jfr.pinned-threshold:20ms}") Duration pinnedThreshold,
+                           @Value("${unicorn.jfr.contention-threshold:20ms}") Duration contentionThreshold,
+                           @Value("${unicorn.jfr.gc-pause-threshold:0ms}") Duration gcPauseThreshold,
+                           @Value("${unicorn.jfr.allocation-throttle:100/s}") String allocationThrottle) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pinnedThreshold = pinnedThreshold;
+        this.contentionThreshold = contentionThreshold;
+        this.gcPauseThreshold = gcPauseThreshold;
+        this.allocationThrottle = allocationThrottle;
+
+        this.pinned = Timer.builder("unicorn.jfr.virtual.thread.pinned")
+                .description("Virtual threads blocked while pinned to their carrier (jdk.VirtualThreadPinned)")
+                .register(meterRegistry);
+        this.allocated = Counter.builder("unicorn.jfr.allocation")
+                .description("Bytes allocated on the heap, estimated from jdk.ObjectAllocationSample")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("JFR event metrics disabled");
+            return;
+        }
+        start();
+        Core.getGlobalContext().register(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        close();
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        close();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        start();
+    }
+
+    // True while events are streamed into the meters
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void start() {
+        RecordingStream recordingStream;
+        try {
+            recordingStream = new RecordingStream();
+        } catch (IllegalStateException | SecurityException e) {
+            logger.warn("JFR is not available, JFR event metrics disabled: {}", e.toString());
+            return;
+        }
+
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreshold).withoutStackTrace();
+        recordingStream.enable("jdk.JavaMonitorEnter").withThreshold(contentionThreshold).withoutStackTrace();
+        recordingStream.enable("jdk.ThreadPark").withThreshold(contentionThreshold).withoutStackTrace();
+        recordingStream.enable("jdk.GCPhasePause").withThreshold(gcPauseThreshold);
+        recordingStream.enable("jdk.ObjectAllocationSample")
+                .with("throttle", allocationThrottle)
+                .withoutStackTrace();
+
+        recordingStream.onEvent("jdk.VirtualThreadPinned", event -> pinned.record(event.getDuration()));
+        recordingStream.onEvent("jdk.JavaMonitorEnter", event -> Timer.builder("unicorn.jfr.monitor.enter")
+                .description("Time blocked entering a contended synchronized monitor (jdk.JavaMonitorEnter)")
+                .tag("monitor", className(event, "monitorClass"))
+                .register(meterRegistry)
+                .record(event.getDuration()));
+        recordingStream.onEvent("jdk.ThreadPark", event -> Timer.builder("unicorn.jfr.thread.park")
+                .description("Time parked in LockSupport.park, e.g. waiting for a lock (jdk.ThreadPark)")
+                .tag("blocker", className(event, "parkedClass"))
+                .register(meterRegistry)
+                .record(event.getDuration()));
+        recordingStream.onEvent("jdk.GCPhasePause", event -> Timer.builder("unicorn.jfr.gc.pause")
+                .description("Stop-the-world GC pauses (jdk.GCPhasePause)")
+                .tag("phase", String.valueOf(event.getString("name")))
+                .register(meterRegistry)
+                .record(event.getDuration()));
+        recordingStream.onEvent("jdk.ObjectAllocationSample", event -> allocated.increment(event.getLong("weight")));
+
+        // Events are consumed about once a second; older chunks in the disk repository are not needed
+        recordingStream.setMaxAge(Duration.ofSeconds(10));
+        recordingStream.startAsync();
+        stream = recordingStream;
+        logger.info("Streaming JFR events to metrics (pinned > {}, contention > {}, allocation samples {})",
+                pinnedThreshold, contentionThreshold, allocationThrottle);
+    }
+
+    private void close() {
+        var recordingStream = stream;
+        if (recordingStream != null) {
+            stream = null;
+            recordingStream.close();
+        }
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        RecordedClass recordedClass = event.getClass(field);
+        return recordedClass == null ? "none" : recordedClass.getName();
+    }
+}
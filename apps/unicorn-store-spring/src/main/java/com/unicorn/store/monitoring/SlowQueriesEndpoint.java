@@ -0,0 +1,29 @@
+package com.unicorn.store.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+// GET /actuator/slowqueries lists the slowest JDBC statements (normalized SQL, no bind values), slowest first;
+// DELETE starts a fresh capture, e.g. before a load test
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final SlowStatementLog slowStatementLog;
+
+    public SlowQueriesEndpoint(SlowStatementLog slowStatementLog) {
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    @ReadOperation
+    public List<SlowStatementLog.SlowStatement> slowQueries() {
+        return slowStatementLog.slowest();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowStatementLog.reset();
+    }
+}
@@ -0,0 +1,81 @@
+package com.unicorn.store.monitoring;
+
+import com.unicorn.store.context.RequestContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// The slowest `capacity` JDBC statements since startup (or the last reset), filled by InstrumentedDataSource
+// and served at /actuator/slowqueries. A statement below the threshold, or no slower than the fastest entry
+// of a full log, is dropped after one volatile read, so the common case takes no lock.
+public class SlowStatementLog {
+
+    private static final Comparator<SlowStatement> FASTEST_FIRST =
+            Comparator.comparingDouble(SlowStatement::durationMillis);
+
+    private final int capacity;
+    private final long thresholdNanos;
+    // Not a monitor: statements finish on virtual threads, and waiting on a monitor pins the carrier before JDK 24
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final PriorityQueue<SlowStatement> slowest;
+    // Duration of the fastest kept statement once the log is full, otherwise 0
+    private volatile long floorNanos;
+
+    public SlowStatementLog(int capacity, Duration threshold) {
+        this.capacity = capacity;
+        this.thresholdNanos = threshold.toNanos();
+        this.slowest = new PriorityQueue<>(capacity + 1, FASTEST_FIRST);
+    }
+
+    // sql must already be normalized (no literals)
+    public void offer(String dataSource, String sql, long nanos) {
+        if (capacity == 0 || nanos < thresholdNanos || nanos <= floorNanos) {
+            return;
+        }
+        var requestId = RequestContext.REQUEST_ID.isBound() ? RequestContext.REQUEST_ID.get() : null;
+        var statement = new SlowStatement(dataSource, sql, nanos / 1_000_000.0, Instant.now(), requestId);
+        lock.lock();
+        try {
+            slowest.add(statement);
+            if (slowest.size() > capacity) {
+                slowest.poll();
+            }
+            floorNanos = slowest.size() == capacity ? (long) (slowest.peek().durationMillis() * 1_000_000) : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Slowest first
+    public List<SlowStatement> slowest() {
+        List<SlowStatement> statements;
+        lock.lock();
+        try {
+            statements = new ArrayList<>(slowest);
+        } finally {
+            lock.unlock();
+        }
+        statements.sort(FASTEST_FIRST.reversed());
+        return statements;
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            slowest.clear();
+            floorNanos = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // requestId ties the statement to the request's log lines (null outside a request, e.g. the outbox relay)
+    public record SlowStatement(String dataSource, String sql, double durationMillis, Instant executedAt,
+                                String requestId) {}
+}
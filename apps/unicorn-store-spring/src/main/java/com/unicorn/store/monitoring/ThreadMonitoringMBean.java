@@ -1,10 +1,18 @@
 package com.unicorn.store.monitoring;
 
 import com.unicorn.store.service.ThreadGeneratorService;
+import com.unicorn.store.service.ThreadGeneratorService.ScenarioStatus;
+import com.unicorn.store.service.ThreadScenario;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+import java.util.function.Function;
+
+// Workload generator state over JMX (when spring.jmx.enabled): the current or last run, and per-scenario
+// totals from the same Micrometer meters that /actuator/prometheus exports
 @Component
 @ManagedResource(objectName = "com.unicorn.store:type=ThreadMonitoring,name=ThreadStats")
 public class ThreadMonitoringMBean {
@@ -19,4 +27,48 @@ public class ThreadMonitoringMBean {
     public int getActiveThreadCount() {
         return threadGeneratorService.getActiveThreadCount();
     }
+
+    @ManagedAttribute(description = "Scenario of the current or last run")
+    public String getScenario() {
+        return status(ScenarioStatus::scenario, "");
+    }
+
+    @ManagedAttribute(description = "Thread type of the current or last run (platform or virtual)")
+    public String getThreadType() {
+        return status(ScenarioStatus::threadType, "");
+    }
+
+    @ManagedAttribute(description = "Target operations per second of the current or last run (0 = unthrottled)")
+    public double getTargetRate() {
+        return status(ScenarioStatus::targetRate, 0.0);
+    }
+
+    @ManagedAttribute(description = "Operations completed by the current or last run")
+    public long getOperations() {
+        return status(ScenarioStatus::operations, 0L);
+    }
+
+    @ManagedAttribute(description = "Operations failed in the current or last run")
+    public long getFailures() {
+        return status(ScenarioStatus::failures, 0L);
+    }
+
+    @ManagedAttribute(description = "Running time of the current or last run in seconds")
+    public long getElapsedSeconds() {
+        return status(status -> status.elapsed().toSeconds(), 0L);
+    }
+
+    @ManagedOperation(description = "Operations completed by a scenario across all runs")
+    public long totalOperations(String scenario) {
+        return threadGeneratorService.totalOperations(ThreadScenario.of(scenario));
+    }
+
+    @ManagedOperation(description = "Operations failed in a scenario across all runs")
+    public long totalFailures(String scenario) {
+        return threadGeneratorService.totalFailures(ThreadScenario.of(scenario));
+    }
+
+    private <T> T status(Function<ScenarioStatus, T> attribute, T none) {
+        return Optional.ofNullable(threadGeneratorService.getStatus()).map(attribute).orElse(none);
+    }
 }
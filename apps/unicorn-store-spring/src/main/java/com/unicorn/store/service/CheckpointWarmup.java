@@ -0,0 +1,121 @@
+package com.unicorn.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.data.UuidV7;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.DefaultLifecycleProcessor;
+import org.springframework.core.SpringProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Primes the JIT on the request hot paths (JSON, validation, ID generation, the read queries and the
+// batch insert) so a CRaC checkpoint captures compiled code instead of a cold interpreter.
+// The warm-up has to run while the pool is still open:
+// - with -Dspring.context.checkpoint=onRefresh the checkpoint is taken right after the singletons
+//   are created, so it runs from afterSingletonsInstantiated
+// - an on-demand checkpoint (jcmd <pid> JDK.checkpoint) stops the lifecycle beans (Hikari, web server)
+//   in a resource registered during refresh; this bean registers once the application is ready, so its
+//   beforeCheckpoint runs first (resources are notified in reverse registration order)
+// Writes happen in a transaction that is always rolled back, so nothing reaches the table or the outbox.
+@Service
+public class CheckpointWarmup implements SmartInitializingSingleton, Resource {
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointWarmup.class);
+
+    private static final TypeReference<List<Unicorn>> UNICORN_LIST = new TypeReference<>() {};
+
+    private final UnicornService unicornService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int iterations;
+
+    public CheckpointWarmup(UnicornService unicornService, ObjectMapper objectMapper,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${unicorn.crac.warmup.enabled:true}") boolean enabled,
+                            @Value("${unicorn.crac.warmup.iterations:1000}") int iterations) {
+        this.unicornService = unicornService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (DefaultLifecycleProcessor.ON_REFRESH_VALUE.equalsIgnoreCase(
+                SpringProperties.getProperty(DefaultLifecycleProcessor.CHECKPOINT_PROPERTY_NAME))) {
+            warmUp();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerForCheckpoint() {
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        warmUp();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // Nothing to restore - the warm-up holds no resources
+    }
+
+    // Returns the number of completed iterations
+    public int warmUp() {
+        if (!enabled || iterations < 1) {
+            return 0;
+        }
+        logger.info("Warming up hot paths before checkpoint ({} iterations)", iterations);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                warmUpOnce(i);
+            } catch (RuntimeException | JsonProcessingException e) {
+                // A failing warm-up (e.g. no database at build time) must never prevent the checkpoint
+                logger.warn("Warm-up stopped after {} iterations", i, e);
+                return i;
+            }
+        }
+        logger.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return iterations;
+    }
+
+    private void warmUpOnce(int iteration) throws JsonProcessingException {
+        var unicorns = IntStream.range(0, 10)
+            .mapToObj(i -> new Unicorn("Warmup" + iteration + "-" + i, String.valueOf(i), "Small", "warmup"))
+            .toList();
+        var parsed = objectMapper.readValue(objectMapper.writeValueAsString(unicorns), UNICORN_LIST);
+
+        // Batch insert path (IDs, validation, JDBC batches, outbox rows), never committed
+        transactionTemplate.executeWithoutResult(status -> {
+            unicornService.createUnicorns(parsed);
+            status.setRollbackOnly();
+        });
+
+        // Read paths behind GET /unicorns, including response serialization
+        List<Unicorn> page = unicornService.getAllUnicorns(null, 10);
+        List<UnicornView> views = unicornService.findUnicorns(new UnicornFilter("warmup", "Small", 0, 9),
+            UnicornView.OPTIONAL_FIELDS, UuidV7.nextString(), 10);
+        objectMapper.writeValueAsBytes(page);
+        objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -1,91 +1,468 @@
 package com.unicorn.store.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
-// Virtual thread generator for profiling - uses Thread.ofVirtual() (Java 21+)
+// Synthetic workload generator for profiling: N platform or virtual threads run one ThreadScenario,
+// paced to a target rate across all threads and optionally time-boxed. One run at a time; each operation
+// is recorded in unicorn.threads.operation (Timer), failures in unicorn.threads.failures, both tagged
+// with scenario and thread type, and the live counts are exposed via ThreadMonitoringMBean.
 @Service
 public class ThreadGeneratorService {
     private static final Logger logger = LoggerFactory.getLogger(ThreadGeneratorService.class);
-    private final List<Thread> activeThreads = new ArrayList<>();
-    private final AtomicBoolean running = new AtomicBoolean(false);
 
-    public synchronized void startThreads(int threadCount) {
-        if (running.get()) {
-            throw new IllegalStateException("Threads are already running");
+    // Pacing of the original generator (1000 sqrt iterations every 100 ms per thread), used when no rate is given
+    public static final double DEFAULT_RATE_PER_THREAD = 10.0;
+
+    // What to run: rate is operations per second across all threads (0 = as fast as possible),
+    // a null or zero duration runs until stopped
+    public record ScenarioSpec(ThreadScenario scenario, int threads, boolean virtualThreads,
+                               double ratePerSecond, Duration duration) {}
+
+    public record ScenarioStatus(String scenario, String threadType, int activeThreads, double targetRate,
+                                 long operations, long failures, Duration elapsed) {}
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int maxThreads;
+    private final Duration ioLatency;
+    private final Duration holdTime;
+
+    // Not synchronized: stopThreads() joins the workers, and a virtual thread (a Tomcat request) blocking
+    // inside a monitor pins its carrier before JDK 24 - on a single carrier the workers could never finish
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private volatile Run current;
+
+    public ThreadGeneratorService(DataSource dataSource, MeterRegistry meterRegistry,
+                                  @Value("${unicorn.threads.max-threads:10000}") int maxThreads,
+                                  @Value("${unicorn.threads.io-latency:20ms}") Duration ioLatency,
+                                  @Value("${unicorn.threads.hold-time:50ms}") Duration holdTime) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.maxThreads = maxThreads;
+        this.ioLatency = ioLatency;
+        this.holdTime = holdTime;
+
+        for (var scenario : ThreadScenario.values()) {
+            Gauge.builder("unicorn.threads.active", this, service -> service.activeThreads(scenario))
+                    .description("Workload generator threads alive per scenario")
+                    .tag("scenario", scenario.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    // The original API: CPU scenario on platform threads at the original pacing
+    public void startThreads(int threadCount) {
+        start(new ScenarioSpec(ThreadScenario.CPU, threadCount, false, threadCount * DEFAULT_RATE_PER_THREAD, null));
+    }
+
+    public void start(ScenarioSpec spec) {
+        lifecycleLock.lock();
+        try {
+            doStart(spec);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    public void stopThreads() {
+        lifecycleLock.lock();
+        try {
+            doStop();
+        } finally {
+            lifecycleLock.unlock();
         }
+    }
 
-        running.set(true);
-        logger.info("Starting {} threads", threadCount);
+    private void doStart(ScenarioSpec spec) {
+        if (isRunning()) {
+            throw new IllegalStateException("Threads are already running");
+        }
+        if (spec.threads() < 1 || spec.threads() > maxThreads) {
+            throw new IllegalArgumentException("count must be between 1 and " + maxThreads);
+        }
+        if (spec.ratePerSecond() < 0) {
+            throw new IllegalArgumentException("rate must not be negative");
+        }
+        if (spec.duration() != null && spec.duration().isNegative()) {
+            throw new IllegalArgumentException("duration must not be negative");
+        }
 
-        for (int i = 0; i < threadCount; i++) {
-            var thread = Thread.ofPlatform()
-                    .name("DummyThread-" + i)
-                    .start(new DummyWorkload(running));
-            activeThreads.add(thread);
+        var run = new Run(spec, timer(spec), failureCounter(spec));
+        try {
+            run.resources = resources(spec.scenario());
+        } catch (IOException | ReflectiveOperationException | UnsupportedOperationException e) {
+            throw new IllegalStateException("Unable to prepare scenario " + spec.scenario().key() + ": " + e, e);
         }
+        logger.info("Starting {} {} threads running scenario {} at {} ops/s for {}", spec.threads(), threadType(spec),
+                spec.scenario().key(), spec.ratePerSecond() == 0 ? "unlimited" : spec.ratePerSecond(),
+                run.timeBoxed ? spec.duration() : "ever");
 
-        logger.info("Started {} platform threads", threadCount);
+        var builder = spec.virtualThreads() ? Thread.ofVirtual() : Thread.ofPlatform();
+        // Each thread's share of the target rate
+        long intervalNanos = spec.ratePerSecond() == 0 ? 0 : (long) (spec.threads() * 1e9 / spec.ratePerSecond());
+        var threads = new ArrayList<Thread>(spec.threads());
+        for (int i = 0; i < spec.threads(); i++) {
+            threads.add(builder.name("Workload-" + spec.scenario().key() + "-" + i)
+                    .start(() -> work(run, intervalNanos)));
+        }
+        run.threads = List.copyOf(threads);
+        current = run;
+        logger.info("Started {} {} threads", spec.threads(), threadType(spec));
     }
 
-    public synchronized void stopThreads() {
-        if (!running.get()) {
+    private void doStop() {
+        var run = current;
+        if (!isRunning()) {
             throw new IllegalStateException("No threads are running");
         }
 
-        logger.info("Stopping {} threads", activeThreads.size());
-        running.set(false);
+        logger.info("Stopping {} threads", run.threads.size());
+        run.stopped = true;
+        // Wakes threads sleeping between operations or inside one (I/O latency, held connections)
+        run.threads.forEach(Thread::interrupt);
 
         // Wait for all threads to complete
-        activeThreads.forEach(thread -> {
+        run.threads.forEach(thread -> {
             try {
-                thread.join(java.time.Duration.ofSeconds(5));
+                thread.join(Duration.ofSeconds(5));
             } catch (InterruptedException _) {
                 // Java 22 unnamed variable (_)
                 logger.warn("Interrupted while waiting for thread {} to stop", thread.getName());
                 Thread.currentThread().interrupt();
             }
         });
-
-        activeThreads.clear();
-        logger.info("All threads stopped");
+        logger.info("All threads stopped after {} operations ({} failed)", run.operations.sum(), run.failures.sum());
     }
 
     public int getActiveThreadCount() {
-        return activeThreads.size();
+        var run = current;
+        return run == null ? 0 : run.alive();
     }
 
-    // Dummy workload for profiling - volatile blackhole prevents JIT elimination
-    private static class DummyWorkload implements Runnable {
-        private final AtomicBoolean running;
-        @SuppressWarnings("unused")
-        private static volatile double blackhole;
-
-        DummyWorkload(AtomicBoolean running) {
-            this.running = running;
+    // The current or most recent run, null before the first one
+    public ScenarioStatus getStatus() {
+        var run = current;
+        if (run == null) {
+            return null;
         }
+        return new ScenarioStatus(run.spec.scenario().key(), threadType(run.spec), run.alive(),
+                run.spec.ratePerSecond(), run.operations.sum(), run.failures.sum(),
+                Duration.ofNanos((run.endNanos != 0 ? run.endNanos : System.nanoTime()) - run.startNanos));
+    }
 
-        @Override
-        public void run() {
-            while (running.get()) {
+    // Operations and failures of a scenario across all runs and thread types, from the Micrometer meters
+    public long totalOperations(ThreadScenario scenario) {
+        return meterRegistry.find("unicorn.threads.operation").tag("scenario", scenario.key()).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    public long totalFailures(ThreadScenario scenario) {
+        return (long) meterRegistry.find("unicorn.threads.failures").tag("scenario", scenario.key()).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private boolean isRunning() {
+        var run = current;
+        return run != null && !run.stopped && run.alive() > 0;
+    }
+
+    private int activeThreads(ThreadScenario scenario) {
+        var run = current;
+        return run != null && run.spec.scenario() == scenario ? run.alive() : 0;
+    }
+
+    private void work(Run run, long intervalNanos) {
+        try (var operation = operation(run)) {
+            long next = System.nanoTime();
+            while (run.active()) {
+                long start = System.nanoTime();
                 try {
-                    var result = 0.0;
-                    for (int i = 0; i < 1000; i++) {
-                        result += Math.sqrt(i) * Math.random();
-                    }
-                    blackhole = result;
-                    Thread.sleep(java.time.Duration.ofMillis(100));
+                    operation.run();
+                    run.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    run.operations.increment();
                 } catch (InterruptedException _) {
                     // Java 22 unnamed variable (_)
                     Thread.currentThread().interrupt();
                     break;
+                } catch (Exception e) {
+                    if (!run.active()) {
+                        break;
+                    }
+                    run.failureCounter.increment();
+                    run.failures.increment();
+                    logger.debug("Scenario {} operation failed: {}", run.spec.scenario().key(), e.toString());
+                }
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    long sleep = next - System.nanoTime();
+                    if (sleep > 0) {
+                        Thread.sleep(Duration.ofNanos(sleep));
+                    } else if (-sleep > intervalNanos) {
+                        // Fell behind (e.g. a saturated pool): resume the pace instead of bursting to catch up
+                        next = System.nanoTime();
+                    }
                 }
             }
+        } catch (InterruptedException _) {
+            // Java 22 unnamed variable (_)
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Scenario {} thread could not start: {}", run.spec.scenario().key(), e.toString());
+        } finally {
+            // The last thread of a time-boxed (or stopped) run releases the shared resources
+            if (run.remaining.decrementAndGet() == 0) {
+                run.close();
+            }
         }
     }
-}
\ No newline at end of file
+
+    // One operation of the scenario; created per thread so per-thread state (a socket) needs no sharing
+    private interface Operation extends AutoCloseable {
+        void run() throws Exception;
+
+        @Override
+        default void close() throws IOException {}
+    }
+
+    private Operation operation(Run run) throws IOException {
+        var resources = run.resources;
+        return switch (run.spec.scenario()) {
+            case CPU -> ThreadGeneratorService::compute;
+            case ALLOCATION -> () -> {
+                // Most arrays die young, one in 16 survives in a shared ring until overwritten
+                for (int i = 0; i < 16; i++) {
+                    var chunk = new byte[64 * 1024];
+                    chunk[i] = (byte) i;
+                    if (i == 0) {
+                        resources.retained.set(ThreadLocalRandom.current().nextInt(resources.retained.length()), chunk);
+                    }
+                    Blackhole.reference = chunk;
+                }
+            };
+            case LOCK_CONTENTION -> () -> {
+                resources.lock.lock();
+                try {
+                    compute();
+                } finally {
+                    resources.lock.unlock();
+                }
+            };
+            case PINNING -> () -> sleepPinned(resources.pinnedSleep, holdTime);
+            case BLOCKING_IO -> {
+                var socket = new Socket(InetAddress.getLoopbackAddress(), resources.server.getLocalPort());
+                yield new Operation() {
+                    @Override
+                    public void run() throws IOException {
+                        socket.getOutputStream().write(1);
+                        if (socket.getInputStream().read() < 0) {
+                            throw new IOException("Slow server closed the connection");
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        socket.close();
+                    }
+                };
+            }
+            case DB_POOL -> () -> {
+                try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                    Thread.sleep(holdTime);
+                }
+            };
+        };
+    }
+
+    private static void compute() {
+        var result = 0.0;
+        for (int i = 0; i < 1000; i++) {
+            // ThreadLocalRandom: Math.random() would add contention on one shared Random
+            result += Math.sqrt(i) * ThreadLocalRandom.current().nextDouble();
+        }
+        Blackhole.number = result;
+    }
+
+    private Resources resources(ThreadScenario scenario) throws IOException, ReflectiveOperationException {
+        var resources = new Resources();
+        if (scenario == ThreadScenario.BLOCKING_IO) {
+            resources.server = slowServer();
+        } else if (scenario == ThreadScenario.PINNING) {
+            resources.arena = Arena.ofShared();
+            resources.pinnedSleep = pinnedSleep(resources.arena);
+        }
+        return resources;
+    }
+
+    // A downcall straight into an upcall stub: the sleep runs below a native frame, where a virtual thread
+    // cannot unmount on any JDK (a synchronized block no longer pins from JDK 24, JEP 491)
+    private static MethodHandle pinnedSleep(Arena arena) throws ReflectiveOperationException {
+        var linker = Linker.nativeLinker();
+        var descriptor = FunctionDescriptor.ofVoid(ValueLayout.JAVA_LONG);
+        var target = MethodHandles.lookup().findStatic(ThreadGeneratorService.class, "sleepInUpcall",
+                MethodType.methodType(void.class, long.class));
+        return linker.downcallHandle(linker.upcallStub(target, descriptor, arena), descriptor);
+    }
+
+    private static void sleepPinned(MethodHandle pinnedSleep, Duration duration) throws InterruptedException {
+        try {
+            pinnedSleep.invokeExact(duration.toNanos());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Pinned sleep failed", e);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    // An exception escaping an upcall terminates the JVM, so an interrupt is passed back as the flag
+    private static void sleepInUpcall(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException _) {
+            // Java 22 unnamed variable (_)
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Loopback server answering each byte after ioLatency, one virtual thread per connection
+    private ServerSocket slowServer() throws IOException {
+        var server = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("Workload-slow-server").start(() -> {
+            while (!server.isClosed()) {
+                try {
+                    var socket = server.accept();
+                    Thread.ofVirtual().start(() -> {
+                        try (socket) {
+                            while (socket.getInputStream().read() >= 0) {
+                                Thread.sleep(ioLatency);
+                                socket.getOutputStream().write(1);
+                            }
+                        } catch (IOException | InterruptedException _) {
+                            // Java 22 unnamed variable (_)
+                        }
+                    });
+                } catch (IOException _) {
+                    // Java 22 unnamed variable (_) - closed when the run stops
+                }
+            }
+        });
+        return server;
+    }
+
+    private Timer timer(ScenarioSpec spec) {
+        return Timer.builder("unicorn.threads.operation")
+                .description("Workload generator operations per scenario")
+                .tag("scenario", spec.scenario().key())
+                .tag("thread.type", threadType(spec))
+                .register(meterRegistry);
+    }
+
+    private Counter failureCounter(ScenarioSpec spec) {
+        return Counter.builder("unicorn.threads.failures")
+                .description("Failed workload generator operations, e.g. rejected connections")
+                .tag("scenario", spec.scenario().key())
+                .tag("thread.type", threadType(spec))
+                .register(meterRegistry);
+    }
+
+    private static String threadType(ScenarioSpec spec) {
+        return spec.virtualThreads() ? "virtual" : "platform";
+    }
+
+    // Shared by the threads of a run
+    private static final class Resources {
+        final ReentrantLock lock = new ReentrantLock();
+        final AtomicReferenceArray<byte[]> retained = new AtomicReferenceArray<>(1024);
+        ServerSocket server;
+        // Owns the upcall stub behind pinnedSleep, closed after the last thread of the run
+        Arena arena;
+        MethodHandle pinnedSleep;
+    }
+
+    private static final class Run {
+        final ScenarioSpec spec;
+        final Timer timer;
+        final Counter failureCounter;
+        final LongAdder operations = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final AtomicInteger remaining;
+        final long startNanos = System.nanoTime();
+        final boolean timeBoxed;
+        final long deadline;
+        Resources resources;
+        volatile List<Thread> threads = List.of();
+        volatile boolean stopped;
+        volatile long endNanos;
+
+        Run(ScenarioSpec spec, Timer timer, Counter failureCounter) {
+            this.spec = spec;
+            this.timer = timer;
+            this.failureCounter = failureCounter;
+            this.remaining = new AtomicInteger(spec.threads());
+            this.timeBoxed = spec.duration() != null && !spec.duration().isZero();
+            this.deadline = timeBoxed ? startNanos + spec.duration().toNanos() : 0;
+        }
+
+        boolean active() {
+            return !stopped && (!timeBoxed || System.nanoTime() - deadline < 0);
+        }
+
+        int alive() {
+            return (int) threads.stream().filter(Thread::isAlive).count();
+        }
+
+        void close() {
+            endNanos = System.nanoTime();
+            if (resources.server != null) {
+                try {
+                    resources.server.close();
+                } catch (IOException _) {
+                    // Java 22 unnamed variable (_)
+                }
+            }
+            if (resources.arena != null) {
+                resources.arena.close();
+            }
+        }
+    }
+
+    // Volatile sinks so the JIT cannot eliminate the work
+    private static final class Blackhole {
+        @SuppressWarnings("unused")
+        static volatile double number;
+        @SuppressWarnings("unused")
+        static volatile Object reference;
+    }
+}
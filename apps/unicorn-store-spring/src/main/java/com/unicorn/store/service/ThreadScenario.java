@@ -0,0 +1,39 @@
+package com.unicorn.store.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Synthetic workloads of ThreadGeneratorService, each reproducing one production pathology for profiling
+public enum ThreadScenario {
+    // Math in a tight loop - on-CPU samples, JIT activity
+    CPU("cpu"),
+    // ~1 MB of short- and medium-lived arrays per operation - allocation profiles, GC pressure
+    ALLOCATION("allocation"),
+    // All threads serialize on one ReentrantLock - lock contention (jdk.JavaMonitorEnter/ThreadPark)
+    LOCK_CONTENTION("lock-contention"),
+    // Sleeps below a native frame (FFM downcall into an upcall) - pins virtual threads to their carrier on
+    // every JDK (jdk.VirtualThreadPinned); synchronized stopped pinning in JDK 24 (JEP 491)
+    PINNING("pinning"),
+    // Socket round trip to a slow loopback server - blocking I/O, carrier unmounting for virtual threads
+    BLOCKING_IO("blocking-io"),
+    // Holds a pooled JDBC connection - pool exhaustion, admission control rejections (503s) for the API
+    DB_POOL("db-pool");
+
+    private final String key;
+
+    ThreadScenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static ThreadScenario of(String key) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(ThreadScenario::key).collect(Collectors.joining(", "))));
+    }
+}
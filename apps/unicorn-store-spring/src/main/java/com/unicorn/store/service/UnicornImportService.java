@@ -0,0 +1,159 @@
+package com.unicorn.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.context.RequestContext;
+import com.unicorn.store.model.ImportReport;
+import com.unicorn.store.model.ImportReport.LineError;
+import com.unicorn.store.model.Unicorn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Imports newline-delimited JSON with memory bounded by chunk size, not upload size.
+// The body is read one line at a time and every full chunk is committed through the bulk insert
+// path before more input is read, so a slow database throttles the upload (TCP backpressure)
+// instead of buffering it. Each line has its own parser, so a malformed line cannot desync the rest.
+@Service
+public class UnicornImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornImportService.class);
+
+    private final UnicornService unicornService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxLineLength;
+    private final int maxReportedErrors;
+
+    public UnicornImportService(UnicornService unicornService,
+                                ObjectMapper objectMapper,
+                                @Value("${unicorn.import.chunk-size:500}") int chunkSize,
+                                @Value("${unicorn.import.max-line-length:65536}") int maxLineLength,
+                                @Value("${unicorn.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.unicornService = unicornService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportReport importUnicorns(InputStream body) throws IOException {
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        var report = new ReportBuilder();
+        var chunk = new ArrayList<Unicorn>(chunkSize);
+        var chunkLines = new ArrayList<Long>(chunkSize);
+
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        var line = new StringBuilder();
+        for (long lineNumber = 1; ; lineNumber++) {
+            var complete = readLine(reader, line);
+            if (complete == null) {
+                break;
+            }
+            if (!complete) {
+                report.fail(lineNumber, "Line exceeds " + maxLineLength + " characters");
+                continue;
+            }
+            var json = line.toString();
+            if (json.isBlank()) {
+                continue;
+            }
+
+            try {
+                var unicorn = objectMapper.readValue(json, Unicorn.class);
+                unicornService.validateUnicorn(unicorn);
+                chunk.add(unicorn);
+                chunkLines.add(lineNumber);
+            } catch (JsonProcessingException e) {
+                report.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                report.fail(lineNumber, e.getMessage());
+            }
+
+            if (chunk.size() == chunkSize) {
+                commit(chunk, chunkLines, report);
+            }
+        }
+        commit(chunk, chunkLines, report);
+
+        var result = report.build();
+        logger.info("[{}] Imported {} unicorns, {} lines failed", requestId, result.imported(), result.failed());
+        return result;
+    }
+
+    // Each chunk commits on its own. If it is rejected (e.g. an existing ID), its lines are
+    // retried one by one so only the offending lines are reported. Retries use fresh copies: the
+    // rolled-back persist() already set @Version on lines with an explicit ID, and Hibernate would
+    // reject such an instance as detached.
+    private void commit(List<Unicorn> chunk, List<Long> chunkLines, ReportBuilder report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            unicornService.createUnicorns(chunk);
+            report.imported += chunk.size();
+        } catch (DataAccessException e) {
+            logger.debug("Chunk of {} unicorns rejected, retrying line by line: {}", chunk.size(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    var unicorn = chunk.get(i);
+                    unicornService.createUnicorns(List.of(unicorn.withId(unicorn.getId())));
+                    report.imported++;
+                } catch (DataAccessException lineError) {
+                    report.fail(chunkLines.get(i), "Rejected by database: " + lineError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    // Reads the next line into 'line' without buffering more than maxLineLength characters.
+    // Returns null at end of input, false if the line was too long (the rest of it is skipped).
+    private Boolean readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() < maxLineLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (c == -1 && line.isEmpty() && !tooLong) {
+            return null;
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return !tooLong;
+    }
+
+    private final class ReportBuilder {
+        private final List<LineError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, message));
+            }
+        }
+
+        private ImportReport build() {
+            return new ImportReport(imported, failed, List.copyOf(errors));
+        }
+    }
+}
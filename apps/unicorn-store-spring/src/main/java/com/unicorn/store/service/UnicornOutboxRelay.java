@@ -0,0 +1,175 @@
+package com.unicorn.store.service;
+
+import com.unicorn.store.data.OutboxRepository;
+import com.unicorn.store.data.PutEventsBatcher;
+import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the transactional outbox to EventBridge with at-least-once delivery.
+// Rows are claimed (leased) in a short transaction, published without holding a DB connection,
+// and deleted once EventBridge accepted them. The lease outlasts a whole delivery (publish timeout plus
+// a margin), so concurrent relays on other tasks or pods do not claim rows still being published.
+// Rows whose publish failed are rescheduled after the retry backoff; rows of a crashed relay become
+// visible again when their lease expires.
+// While the publisher's circuit breaker is open the relay claims nothing: events accumulate in the
+// outbox (unicorn.outbox.backlog) until the breaker lets a probe through again. The probe round claims
+// only one PutEvents request's worth of events, since the breaker lets just that one call through.
+@Service
+public class UnicornOutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornOutboxRelay.class);
+
+    // Time between the claim and a delivery's end left for the claim commit and the delete/reschedule
+    // transaction, which may wait for a pooled connection
+    static final Duration LEASE_MARGIN = Duration.ofSeconds(5);
+
+    private final OutboxRepository outboxRepository;
+    private final UnicornPublisher unicornPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock = Clock.systemUTC();
+    private final int batchSize;
+    private final Duration publishTimeout;
+    private final Duration lease;
+    private final Duration retryBackoff;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryLag;
+    private final Counter published;
+    private final Counter failed;
+
+    public UnicornOutboxRelay(OutboxRepository outboxRepository,
+                              UnicornPublisher unicornPublisher,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${unicorn.outbox.batch-size:100}") int batchSize,
+                              @Value("${unicorn.outbox.publish-timeout:10s}") Duration publishTimeout,
+                              @Value("${unicorn.outbox.lease:30s}") Duration lease,
+                              @Value("${unicorn.outbox.retry-backoff:5s}") Duration retryBackoff) {
+        if (lease.compareTo(publishTimeout.plus(LEASE_MARGIN)) < 0) {
+            throw new IllegalArgumentException("unicorn.outbox.lease (" + lease + ") must be at least publish-timeout ("
+                    + publishTimeout + ") plus " + LEASE_MARGIN);
+        }
+        this.outboxRepository = outboxRepository;
+        this.unicornPublisher = unicornPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.publishTimeout = publishTimeout;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+
+        Gauge.builder("unicorn.outbox.backlog", backlog, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder("unicorn.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("unicorn.outbox.delivery.lag")
+                .description("Time from commit to successful EventBridge delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.published = Counter.builder("unicorn.outbox.published")
+                .description("Outbox events delivered to EventBridge")
+                .register(meterRegistry);
+        this.failed = Counter.builder("unicorn.outbox.failed")
+                .description("Outbox delivery attempts that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${unicorn.outbox.poll-interval:500ms}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            if (unicornPublisher.isCircuitOpen()) {
+                logger.debug("EventBridge circuit open, leaving events in the outbox");
+                break;
+            }
+            int limit = unicornPublisher.isCircuitHalfOpen()
+                    ? Math.min(batchSize, PutEventsBatcher.MAX_ENTRIES)
+                    : batchSize;
+            batch = claimBatch(limit);
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Backlog and lag gauges, on their own slower schedule: polling must not add a connection checkout
+    // competing with request traffic every poll interval
+    @Scheduled(fixedDelayString = "${unicorn.outbox.metrics-interval:15s}")
+    public void refreshMetrics() {
+        var now = clock.instant();
+        var summary = transactionTemplate.execute(_ -> outboxRepository.summarize());
+        backlog.set(summary.getEvents());
+        lagMillis.set(summary.getOldest() == null ? 0 : Duration.between(summary.getOldest(), now).toMillis());
+    }
+
+    private List<OutboxEvent> claimBatch(int limit) {
+        return transactionTemplate.execute(_ -> {
+            var now = clock.instant();
+            var batch = outboxRepository.findByAvailableAtLessThanEqualOrderByCreatedAtAsc(now, Limit.of(limit));
+            var leaseUntil = now.plus(lease);
+            batch.forEach(event -> event.claimUntil(leaseUntil));
+            return batch;
+        });
+    }
+
+    private void deliver(List<OutboxEvent> batch) {
+        var futures = batch.stream()
+                .map(event -> unicornPublisher
+                        .publish(event.getEventType(), event.getAggregateId(), event.getPayload())
+                        .orTimeout(publishTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .exceptionally(_ -> null)
+                .join();
+
+        List<String> delivered = new ArrayList<>(batch.size());
+        List<String> undelivered = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            var event = batch.get(i);
+            if (futures.get(i).isCompletedExceptionally()) {
+                undelivered.add(event.getId());
+                failed.increment();
+                logger.warn("Delivery of outbox event {} failed (attempt {}), retrying after {}",
+                        event.getId(), event.getAttempts(), retryBackoff);
+            } else {
+                delivered.add(event.getId());
+                deliveryLag.record(Duration.between(event.getCreatedAt(), clock.instant()));
+            }
+        }
+
+        // One transaction: delivered rows are removed, failed ones retried after the backoff instead of the lease
+        transactionTemplate.executeWithoutResult(_ -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteByIdIn(delivered);
+            }
+            if (!undelivered.isEmpty()) {
+                outboxRepository.rescheduleByIdIn(undelivered, clock.instant().plus(retryBackoff));
+            }
+        });
+        if (!delivered.isEmpty()) {
+            published.increment(delivered.size());
+            logger.debug("Relayed {} of {} outbox events", delivered.size(), batch.size());
+        }
+    }
+}
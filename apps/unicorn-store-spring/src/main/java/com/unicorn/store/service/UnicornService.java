@@ -1,32 +1,52 @@
 package com.unicorn.store.service;
 
+import com.unicorn.store.config.CacheConfig;
 import com.unicorn.store.context.RequestContext;
-import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.data.UnicornCopyExporter;
+import com.unicorn.store.data.UnicornEventOutbox;
 import com.unicorn.store.data.UnicornRepository;
+import com.unicorn.store.data.UuidV7;
 import com.unicorn.store.exceptions.ResourceNotFoundException;
+import com.unicorn.store.exceptions.VersionConflictException;
+import com.unicorn.store.model.ExportFormat;
 import com.unicorn.store.model.Unicorn;
 import com.unicorn.store.model.UnicornEventType;
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
 import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.stream.StreamSupport;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class UnicornService {
     private final UnicornRepository unicornRepository;
-    private final UnicornPublisher unicornPublisher;
+    private final UnicornEventOutbox unicornEventOutbox;
+    private final EntityManager entityManager;
+    private final UnicornCopyExporter unicornCopyExporter;
     private static final Logger logger = LoggerFactory.getLogger(UnicornService.class);
 
-    public UnicornService(UnicornRepository unicornRepository, UnicornPublisher unicornPublisher) {
+    public UnicornService(UnicornRepository unicornRepository, UnicornEventOutbox unicornEventOutbox,
+                          EntityManager entityManager, UnicornCopyExporter unicornCopyExporter) {
         this.unicornRepository = unicornRepository;
-        this.unicornPublisher = unicornPublisher;
+        this.unicornEventOutbox = unicornEventOutbox;
+        this.entityManager = entityManager;
+        this.unicornCopyExporter = unicornCopyExporter;
     }
 
     @Observed(name = "unicorn.create")
+    @CachePut(cacheNames = CacheConfig.UNICORNS_CACHE, key = "#result.id")
     @Transactional
     public Unicorn createUnicorn(Unicorn unicorn) {
         // Access request ID from Scoped Value (JEP 506) - no parameter passing needed
@@ -34,7 +54,7 @@ public class UnicornService {
         logger.debug("[{}] Creating unicorn: {}", requestId, unicorn);
 
         var unicornWithId = unicorn.getId() == null
-            ? unicorn.withId(UUID.randomUUID().toString())
+            ? unicorn.withId(UuidV7.nextString())
             : unicorn;
 
         validateUnicorn(unicornWithId);
@@ -45,14 +65,16 @@ public class UnicornService {
         return savedUnicorn;
     }
 
+    // Keyset pagination: "after" is the last ID of the previous page (null for the first page)
     // Java 21 Sequenced Collections: getFirst()/getLast()
-    public List<Unicorn> getAllUnicorns() {
+    @Transactional(readOnly = true)
+    public List<Unicorn> getAllUnicorns(String after, int limit) {
         String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
-        logger.debug("[{}] Retrieving all unicorns", requestId);
+        logger.debug("[{}] Retrieving up to {} unicorns after: {}", requestId, limit, after);
 
-        List<Unicorn> unicorns = StreamSupport
-            .stream(unicornRepository.findAll().spliterator(), false)
-            .toList();
+        List<Unicorn> unicorns = after == null
+            ? unicornRepository.findAllByOrderByIdAsc(Limit.of(limit))
+            : unicornRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
 
         if (!unicorns.isEmpty()) {
             logger.debug("[{}] First unicorn: {}, Last unicorn: {}",
@@ -62,32 +84,99 @@ public class UnicornService {
         return unicorns;
     }
 
+    // Filtered keyset page projected to the requested fields (see UnicornQueryRepositoryImpl)
+    @Transactional(readOnly = true)
+    public List<UnicornView> findUnicorns(UnicornFilter filter, Set<String> fields, String after, int limit) {
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        logger.debug("[{}] Retrieving up to {} unicorns after: {} matching {} with fields {}",
+            requestId, limit, after, filter, fields);
+        return unicornRepository.findPage(filter, fields, after, limit);
+    }
+
+    // Streams every unicorn to the consumer with constant memory: rows come from a JDBC cursor
+    // and each entity is detached once consumed so the persistence context does not grow
+    @Transactional(readOnly = true)
+    public long streamAllUnicorns(Consumer<Unicorn> consumer) {
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        logger.debug("[{}] Streaming all unicorns", requestId);
+
+        long count = 0;
+        try (var unicorns = unicornRepository.streamAll()) {
+            for (var iterator = unicorns.iterator(); iterator.hasNext(); count++) {
+                var unicorn = iterator.next();
+                consumer.accept(unicorn);
+                entityManager.detach(unicorn);
+            }
+        }
+
+        logger.debug("[{}] Streamed {} unicorns", requestId, count);
+        return count;
+    }
+
+    // Bulk export via PostgreSQL COPY (UnicornCopyExporter): rows go from the server to the output stream
+    // without being mapped to entities; read-only, so it is served by the read replica when one is configured
+    @Observed(name = "unicorn.export")
+    @Transactional(readOnly = true)
+    public long exportUnicorns(ExportFormat format, OutputStream out) throws IOException {
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        logger.debug("[{}] Exporting all unicorns as {}", requestId, format);
+
+        var count = unicornCopyExporter.copyTo(format, out);
+
+        logger.debug("[{}] Exported {} unicorns", requestId, count);
+        return count;
+    }
+
+    // Bulk insert: one transaction, unicorns and their outbox events written in JDBC batches
+    // (see UnicornBulkRepositoryImpl) instead of a save() round trip per unicorn
+    @Observed(name = "unicorn.create.batch")
     @Transactional
     public List<Unicorn> createUnicorns(List<Unicorn> unicorns) {
-        return unicorns.stream()
-                .map(this::createUnicorn)
-                .toList();
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        logger.debug("[{}] Creating {} unicorns", requestId, unicorns.size());
+
+        var unicornsWithIds = unicorns.stream()
+            .map(unicorn -> unicorn == null || unicorn.getId() != null
+                ? unicorn
+                : unicorn.withId(UuidV7.nextString()))
+            .toList();
+        unicornsWithIds.forEach(this::validateUnicorn);
+
+        unicornRepository.insertAll(unicornsWithIds);
+        unicornEventOutbox.enqueueAll(unicornsWithIds, UnicornEventType.UNICORN_CREATED);
+
+        logger.info("[{}] Created {} unicorns", requestId, unicornsWithIds.size());
+        return unicornsWithIds;
     }
 
+    // One UPDATE statement; with expectedVersion (If-Match, null = unconditional) it only applies to that version.
+    // The cache entry is evicted rather than replaced so the next read picks up the new version.
     @Observed(name = "unicorn.update")
+    @CacheEvict(cacheNames = CacheConfig.UNICORNS_CACHE, key = "#unicornId")
     @Transactional
-    public Unicorn updateUnicorn(Unicorn unicorn, String unicornId) {
+    public Unicorn updateUnicorn(Unicorn unicorn, String unicornId, Long expectedVersion) {
         String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
-        logger.debug("[{}] Updating unicorn with ID: {}", requestId, unicornId);
+        logger.debug("[{}] Updating unicorn with ID: {} (expected version: {})", requestId, unicornId, expectedVersion);
         validateUnicorn(unicorn);
 
-        // Verify existence
-        getUnicorn(unicornId);
+        int updated = expectedVersion == null
+            ? unicornRepository.updateById(unicornId, unicorn)
+            : unicornRepository.updateByIdAndVersion(unicornId, expectedVersion, unicorn);
+        checkAffected(updated, unicornId, expectedVersion);
 
+        // Without If-Match the new version is unknown without another query, so it is left empty
         var updatedUnicorn = unicorn.withId(unicornId);
-        var savedUnicorn = unicornRepository.save(updatedUnicorn);
-        publishUnicornEvent(savedUnicorn, UnicornEventType.UNICORN_UPDATED);
+        updatedUnicorn.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+        publishUnicornEvent(updatedUnicorn, UnicornEventType.UNICORN_UPDATED);
 
         logger.info("[{}] Updated unicorn with ID: {}", requestId, unicornId);
-        return savedUnicorn;
+        return updatedUnicorn;
     }
 
+    // Read-only so a cache miss can be served by the read replica (ReadReplicaConfig)
     @Observed(name = "unicorn.get")
+    @Cacheable(cacheNames = CacheConfig.UNICORNS_CACHE, key = "#unicornId")
+    @Transactional(readOnly = true)
     public Unicorn getUnicorn(String unicornId) {
         String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
         logger.debug("[{}] Retrieving unicorn with ID: {}", requestId, unicornId);
@@ -96,21 +185,42 @@ public class UnicornService {
                         "Unicorn not found with ID: " + unicornId));
     }
 
+    // One DELETE statement; the event carries only the ID since the row is not read first
     @Observed(name = "unicorn.delete")
+    @CacheEvict(cacheNames = CacheConfig.UNICORNS_CACHE, key = "#unicornId")
     @Transactional
-    public void deleteUnicorn(String unicornId) {
+    public void deleteUnicorn(String unicornId, Long expectedVersion) {
         String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
-        logger.debug("[{}] Deleting unicorn with ID: {}", requestId, unicornId);
-        var unicorn = getUnicorn(unicornId);
+        logger.debug("[{}] Deleting unicorn with ID: {} (expected version: {})", requestId, unicornId, expectedVersion);
+
+        int deleted = expectedVersion == null
+            ? unicornRepository.deleteByIdReturningCount(unicornId)
+            : unicornRepository.deleteByIdAndVersion(unicornId, expectedVersion);
+        checkAffected(deleted, unicornId, expectedVersion);
 
-        unicornRepository.delete(unicorn);
-        publishUnicornEvent(unicorn, UnicornEventType.UNICORN_DELETED);
+        var deletedUnicorn = new Unicorn();
+        deletedUnicorn.setId(unicornId);
+        publishUnicornEvent(deletedUnicorn, UnicornEventType.UNICORN_DELETED);
 
         logger.info("[{}] Deleted unicorn with ID: {}", requestId, unicornId);
     }
 
+    // No row affected: either the unicorn does not exist or (with a version) it was changed concurrently.
+    // The extra existence check only runs on this failure path.
+    private void checkAffected(int affected, String unicornId, Long expectedVersion) {
+        if (affected > 0) {
+            return;
+        }
+        if (expectedVersion != null && unicornRepository.existsById(unicornId)) {
+            throw new VersionConflictException(
+                    "Unicorn " + unicornId + " is no longer at version " + expectedVersion);
+        }
+        throw new ResourceNotFoundException("Unicorn not found with ID: " + unicornId);
+    }
+
     // Java 21 Pattern Matching with guarded patterns (case X when condition)
-    private void validateUnicorn(Unicorn unicorn) {
+    // Package-private so UnicornImportService can report invalid lines without failing a chunk
+    void validateUnicorn(Unicorn unicorn) {
         switch (unicorn) {
             case null -> throw new IllegalArgumentException("Unicorn cannot be null");
             case Unicorn u when u.getName() == null || u.getName().isBlank() ->
@@ -121,19 +231,11 @@ public class UnicornService {
         }
     }
 
+    // Transactional outbox: the event is stored with the change and relayed to EventBridge
+    // by UnicornOutboxRelay after commit, so the request never waits on EventBridge
     private void publishUnicornEvent(Unicorn unicorn, UnicornEventType eventType) {
-        try {
-            unicornPublisher.publish(unicorn, eventType).get();
-        } catch (InterruptedException _) {
-            // Java 22 unnamed variable (_)
-            Thread.currentThread().interrupt();
-            String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
-            logger.warn("[{}] Event publishing interrupted for unicorn ID: {}",
-                requestId, unicorn.getId());
-        } catch (Exception e) {
-            String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
-            logger.error("[{}] Failed to publish {} event for unicorn ID: {}",
-                    requestId, eventType, unicorn.getId(), e);
-        }
+        unicornEventOutbox.enqueue(unicorn, eventType);
+        String requestId = RequestContext.REQUEST_ID.orElse("no-request-id");
+        logger.debug("[{}] Queued {} event for unicorn ID: {}", requestId, eventType, unicorn.getId());
     }
 }
\ No newline at end of file
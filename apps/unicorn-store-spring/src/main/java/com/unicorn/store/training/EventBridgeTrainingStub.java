@@ -0,0 +1,41 @@
+package com.unicorn.store.training;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.data.UuidV7;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// EventBridge PutEvents answered by the application itself during the training run (aws.endpointUrl points
+// here), so the publisher, the batcher and the AWS SDK request/response path are trained without AWS.
+// Every entry is accepted.
+@RestController
+@Profile(TrainingRun.PROFILE)
+public class EventBridgeTrainingStub {
+    private static final MediaType AMZ_JSON = MediaType.parseMediaType("application/x-amz-json-1.1");
+
+    private final ObjectMapper objectMapper;
+
+    public EventBridgeTrainingStub(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/", headers = "X-Amz-Target=AWSEvents.PutEvents")
+    public ResponseEntity<String> putEvents(@RequestBody String body) throws JsonProcessingException {
+        int entries = objectMapper.readTree(body).path("Entries").size();
+        var result = Map.of(
+                "FailedEntryCount", 0,
+                "Entries", IntStream.range(0, entries).mapToObj(_ -> Map.of("EventId", UuidV7.nextString())).toList());
+        return ResponseEntity.ok()
+                .contentType(AMZ_JSON)
+                .body(objectMapper.writeValueAsString(result));
+    }
+}
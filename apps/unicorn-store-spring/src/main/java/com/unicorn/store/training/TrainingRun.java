@@ -0,0 +1,71 @@
+package com.unicorn.store.training;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Arrays;
+
+// Training run for the JVM's AOT cache (Dockerfile.06-aot) or an AppCDS archive: started with --training,
+// the application runs against an in-memory H2 database (application-training.yaml), answers its own
+// EventBridge calls (EventBridgeTrainingStub) and sends a representative mix of /unicorns requests
+// through the real HTTP stack (TrainingWorkload). StoreApplication exits afterwards, so the JVM records
+// the classes and profiles of the request paths - not only what Spring touched during refresh.
+@Component
+@Profile(TrainingRun.PROFILE)
+public class TrainingRun implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TrainingRun.class);
+
+    public static final String ARGUMENT = "--training";
+    public static final String PROFILE = "training";
+
+    private final Environment environment;
+    private final int iterations;
+
+    public TrainingRun(Environment environment,
+                       @Value("${unicorn.training.iterations:1000}") int iterations) {
+        this.environment = environment;
+        this.iterations = iterations;
+    }
+
+    public static boolean isRequested(String[] args) {
+        return Arrays.asList(args).contains(ARGUMENT);
+    }
+
+    // Before the context starts: the AWS SDK reads region, credentials and endpoint from system properties
+    // when UnicornPublisher builds its client, and the endpoint is this application's own (free) port
+    public static void configureSystemProperties() {
+        var port = String.valueOf(freePort());
+        System.setProperty("server.port", port);
+        System.setProperty("aws.region", "us-east-1");
+        System.setProperty("aws.accessKeyId", "training");
+        System.setProperty("aws.secretAccessKey", "training");
+        System.setProperty("aws.endpointUrl", "http://127.0.0.1:" + port);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var port = environment.getRequiredProperty("local.server.port");
+        logger.info("Training run: {} workload iterations against port {}", iterations, port);
+        long start = System.nanoTime();
+        int requests = new TrainingWorkload(URI.create("http://127.0.0.1:" + port)).run(iterations);
+        logger.info("Training run finished: {} requests in {} ms", requests, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
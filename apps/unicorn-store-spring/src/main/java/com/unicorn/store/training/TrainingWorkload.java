@@ -0,0 +1,121 @@
+package com.unicorn.store.training;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Representative /unicorns traffic through the full stack (Tomcat, filters, Jackson, validation, JPA,
+// cache, outbox). Each round: create, read (cache miss, then 304 revalidation), conditional update,
+// a page and a filtered projection, delete; every tenth round also a batch insert, an NDJSON import,
+// the NDJSON stream and the probe/metrics endpoints. Used by the training run and the startup harness.
+public class TrainingWorkload {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] SIZES = {"Small", "Medium", "Large"};
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final URI baseUri;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public TrainingWorkload(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    // Returns the number of requests sent; fails on the first unexpected response status
+    public int run(int iterations) {
+        int requests = 0;
+        for (int i = 0; i < iterations; i++) {
+            requests += round(i);
+        }
+        return requests;
+    }
+
+    private int round(int iteration) {
+        var created = send(request("/unicorns")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(unicorn(iteration, 0))), 201);
+        var id = id(created.body());
+        var eTag = created.headers().firstValue("ETag").orElseThrow();
+
+        send(request("/unicorns/" + id).GET(), 200);
+        send(request("/unicorns/" + id).header("If-None-Match", eTag).GET(), 304);
+        var updated = send(request("/unicorns/" + id)
+                .header("Content-Type", "application/json")
+                .header("If-Match", eTag)
+                .PUT(HttpRequest.BodyPublishers.ofString(unicorn(iteration, 1))), 200);
+        send(request("/unicorns?limit=20").GET(), 200, 204);
+        send(request("/unicorns?type=training&size=Small&minAge=0&maxAge=50&fields=name,type&limit=20").GET(),
+                200, 204);
+        int requests = 6;
+
+        if (iteration % 10 == 0) {
+            var batch = IntStream.range(0, 10).mapToObj(i -> unicorn(iteration, i))
+                    .collect(Collectors.joining(",", "[", "]"));
+            send(request("/unicorns/batch")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(batch)), 201);
+            var lines = IntStream.range(0, 10).mapToObj(i -> unicorn(iteration, i))
+                    .collect(Collectors.joining("\n", "", "\n"));
+            send(request("/unicorns/import")
+                    .header("Content-Type", NDJSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(lines)), 200);
+            send(request("/unicorns").header("Accept", NDJSON).GET(), 200);
+            // Out of service until the application is ready, i.e. during the training run itself
+            send(request("/actuator/health/readiness").GET(), 200, 503);
+            send(request("/actuator/prometheus").GET(), 200);
+            requests += 5;
+        }
+
+        send(request("/unicorns/" + id)
+                .header("If-Match", updated.headers().firstValue("ETag").orElseThrow())
+                .DELETE(), 200);
+        return requests + 1;
+    }
+
+    private static String unicorn(int iteration, int variant) {
+        return """
+            {"name":"Training-%d-%d","age":"%d","size":"%s","type":"training"}"""
+                .formatted(iteration, variant, (iteration + variant) % 50, SIZES[(iteration + variant) % SIZES.length]);
+    }
+
+    private static String id(String body) {
+        try {
+            return OBJECT_MAPPER.readTree(body).path("id").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response body: " + body, e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder, int... expectedStatus) {
+        var request = builder.build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (Arrays.stream(expectedStatus).noneMatch(status -> status == response.statusCode())) {
+                throw new IllegalStateException("%s %s returned %d: %s".formatted(request.method(), request.uri(),
+                        response.statusCode(), response.body()));
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + request.method() + " " + request.uri(), e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Schema for PostgreSQL / Aurora, applied on startup (spring.sql.init.mode: always).
+-- Statements are idempotent so they can run against a database provisioned by infra/cdk.
+
+CREATE TABLE IF NOT EXISTS unicorns(id TEXT DEFAULT gen_random_uuid() PRIMARY KEY, name TEXT, age TEXT, size TEXT, type TEXT);
+-- Optimistic locking version (Unicorn.version), also served as the ETag
+ALTER TABLE unicorns ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+-- Whole-year copy of age for range filters (Unicorn.ageYears, kept in sync by the application);
+-- NULL when age is not a plain number. The backfill only touches rows written before the column existed.
+ALTER TABLE unicorns ADD COLUMN IF NOT EXISTS age_years INTEGER;
+UPDATE unicorns SET age_years = CAST(age AS INTEGER) WHERE age_years IS NULL AND age ~ '^[0-9]{1,9}$';
+-- Attribute filters on GET /unicorns (UnicornQueryRepositoryImpl): equality columns first, then the
+-- age range, then id so the keyset condition (id > :after) is checked in the index. These indexes return
+-- rows in (age_years, id) order, not id order: a filtered page sorts all matching rows (a top-N sort
+-- bounded by the filter's selectivity, not the table). Only unfiltered pages come sorted from the primary key.
+CREATE INDEX IF NOT EXISTS unicorns_type_size_age_idx ON unicorns (type, size, age_years, id);
+CREATE INDEX IF NOT EXISTS unicorns_size_age_idx ON unicorns (size, age_years, id);
+CREATE INDEX IF NOT EXISTS unicorns_age_idx ON unicorns (age_years, id);
+
+-- Transactional outbox drained by UnicornOutboxRelay
+CREATE TABLE IF NOT EXISTS unicorn_outbox(
+    id TEXT PRIMARY KEY,
+    aggregate_id TEXT NOT NULL,
+    event_type TEXT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS unicorn_outbox_available_at_idx ON unicorn_outbox (available_at, created_at);
+CREATE INDEX IF NOT EXISTS unicorn_outbox_created_at_idx ON unicorn_outbox (created_at);
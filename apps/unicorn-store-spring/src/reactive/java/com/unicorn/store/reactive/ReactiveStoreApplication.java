@@ -0,0 +1,39 @@
+package com.unicorn.store.reactive;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.config.MonitoringConfig;
+import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.monitoring.ContainerMetadataResolver;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+// Non-blocking variant of the store: WebFlux functional endpoints, R2DBC and the async EventBridge client.
+// Compiled with the "reactive" Maven profile (mvn spring-boot:run -Preactive) and configured by the
+// "reactive" Spring profile (application-reactive.yaml). JDBC/JPA stay on the classpath but are not started.
+@Profile("reactive")
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Import({UnicornPublisher.class, MonitoringConfig.class, ContainerMetadataResolver.class})
+public class ReactiveStoreApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveStoreApplication.class)
+			.profiles("reactive")
+			.web(WebApplicationType.REACTIVE)
+			.run(args);
+	}
+
+	@Bean
+	public ObjectMapper getObjectMapper() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		return objectMapper;
+	}
+
+}
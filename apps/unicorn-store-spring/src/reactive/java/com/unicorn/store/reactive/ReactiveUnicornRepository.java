@@ -0,0 +1,116 @@
+package com.unicorn.store.reactive;
+
+import com.unicorn.store.model.Unicorn;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC access to the same unicorns table as UnicornRepository, with the same single-statement
+// semantics: inserts start at version 0, update/delete return the affected row count and
+// optionally only apply to an expected version.
+@Profile("reactive")
+@Repository
+public class ReactiveUnicornRepository {
+    private static final String COLUMNS = "id, name, age, size, type, version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUnicornRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Keyset pagination on the primary key, like UnicornService.getAllUnicorns
+    public Flux<Unicorn> findPage(String after, int limit) {
+        var spec = after == null
+            ? databaseClient.sql("SELECT " + COLUMNS + " FROM unicorns ORDER BY id LIMIT :limit")
+            : databaseClient.sql("SELECT " + COLUMNS + " FROM unicorns WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after);
+        return spec.bind("limit", limit)
+            .map(ReactiveUnicornRepository::toUnicorn)
+            .all();
+    }
+
+    // Rows are emitted as the driver reads them, with demand from the HTTP response as backpressure
+    public Flux<Unicorn> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM unicorns ORDER BY id")
+            .map(ReactiveUnicornRepository::toUnicorn)
+            .all();
+    }
+
+    public Mono<Unicorn> findById(String id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM unicorns WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveUnicornRepository::toUnicorn)
+            .one();
+    }
+
+    public Mono<Boolean> existsById(String id) {
+        return databaseClient.sql("SELECT 1 FROM unicorns WHERE id = :id")
+            .bind("id", id)
+            .map(_ -> true)
+            .first()
+            .defaultIfEmpty(false);
+    }
+
+    public Mono<Unicorn> insert(Unicorn unicorn) {
+        var spec = databaseClient.sql(
+                "INSERT INTO unicorns (" + COLUMNS + ", age_years) VALUES (:id, :name, :age, :size, :type, 0, :ageYears)")
+            .bind("id", unicorn.getId());
+        return bindFields(spec, unicorn)
+            .fetch()
+            .rowsUpdated()
+            .map(_ -> {
+                unicorn.setVersion(0L);
+                return unicorn;
+            });
+    }
+
+    public Mono<Long> update(String id, Long expectedVersion, Unicorn unicorn) {
+        var sql = "UPDATE unicorns SET name = :name, age = :age, size = :size, type = :type, age_years = :ageYears,"
+            + " version = version + 1"
+            + " WHERE id = :id" + (expectedVersion == null ? "" : " AND version = :version");
+        var spec = databaseClient.sql(sql).bind("id", id);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return bindFields(spec, unicorn).fetch().rowsUpdated();
+    }
+
+    public Mono<Long> delete(String id, Long expectedVersion) {
+        var sql = "DELETE FROM unicorns WHERE id = :id" + (expectedVersion == null ? "" : " AND version = :version");
+        var spec = databaseClient.sql(sql).bind("id", id);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static GenericExecuteSpec bindFields(GenericExecuteSpec spec, Unicorn unicorn) {
+        spec = bindNullable(spec, "name", unicorn.getName());
+        spec = bindNullable(spec, "age", unicorn.getAge());
+        spec = bindNullable(spec, "size", unicorn.getSize());
+        spec = bindNullable(spec, "type", unicorn.getType());
+        // Derived column behind the age range filter, see Unicorn.ageYears
+        var ageYears = unicorn.getAgeYears();
+        return ageYears == null ? spec.bindNull("ageYears", Integer.class) : spec.bind("ageYears", ageYears);
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static Unicorn toUnicorn(Readable row) {
+        var unicorn = new Unicorn();
+        unicorn.setId(row.get("id", String.class));
+        unicorn.setName(row.get("name", String.class));
+        unicorn.setAge(row.get("age", String.class));
+        unicorn.setSize(row.get("size", String.class));
+        unicorn.setType(row.get("type", String.class));
+        unicorn.setVersion(row.get("version", Long.class));
+        return unicorn;
+    }
+}
@@ -0,0 +1,182 @@
+package com.unicorn.store.reactive;
+
+import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.data.UuidV7;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.*;
+
+// WebFlux counterpart of UnicornController: same routes, status codes, ETag/If-Match semantics.
+// Nothing here blocks - R2DBC is composed into the pipeline, EventBridge is published asynchronously.
+@Profile("reactive")
+@Component
+public class UnicornHandler {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveUnicornRepository unicornRepository;
+    private final UnicornPublisher unicornPublisher;
+    private static final Logger logger = LoggerFactory.getLogger(UnicornHandler.class);
+
+    public UnicornHandler(ReactiveUnicornRepository unicornRepository, UnicornPublisher unicornPublisher) {
+        this.unicornRepository = unicornRepository;
+        this.unicornPublisher = unicornPublisher;
+    }
+
+    public Mono<ServerResponse> createUnicorn(ServerRequest request) {
+        return request.bodyToMono(Unicorn.class)
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Unicorn cannot be null")))
+            // withId() goes through the Unicorn constructor, which rejects blank name/type
+            .map(unicorn -> unicorn.withId(unicorn.getId() == null ? UuidV7.nextString() : unicorn.getId()))
+            .flatMap(unicornRepository::insert)
+            .doOnNext(saved -> publish(saved, UnicornEventType.UNICORN_CREATED))
+            .flatMap(saved -> {
+                logger.info("Successfully created unicorn with ID: {}", saved.getId());
+                return ServerResponse.status(CREATED).eTag(String.valueOf(saved.getVersion())).bodyValue(saved);
+            })
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(BAD_REQUEST, e.getMessage(), e))
+            .onErrorMap(DataIntegrityViolationException.class,
+                e -> new ResponseStatusException(CONFLICT, "Unicorn already exists", e));
+    }
+
+    // Keyset pagination: pass the last ID of a page as "after" to get the next one (see Link header)
+    public Mono<ServerResponse> getAllUnicorns(ServerRequest request) {
+        var after = request.queryParam("after").orElse(null);
+        int limit;
+        try {
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(100);
+        } catch (NumberFormatException e) {
+            return Mono.error(new ResponseStatusException(BAD_REQUEST, "limit must be a number", e));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new ResponseStatusException(BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        return unicornRepository.findPage(after, limit)
+            .collectList()
+            .flatMap(unicorns -> {
+                if (unicorns.isEmpty()) {
+                    return ServerResponse.noContent().build();
+                }
+                var response = ServerResponse.ok();
+                if (unicorns.size() == limit) {
+                    var next = UriComponentsBuilder.fromPath("/unicorns")
+                        .queryParam("after", unicorns.getLast().getId())
+                        .queryParam("limit", limit)
+                        .encode()
+                        .build()
+                        .toUriString();
+                    response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                }
+                return response.bodyValue(unicorns);
+            });
+    }
+
+    // Streams the whole table as newline-delimited JSON; R2DBC demand follows the client
+    public Mono<ServerResponse> streamAllUnicorns(ServerRequest request) {
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(unicornRepository.findAll(), Unicorn.class);
+    }
+
+    // If-None-Match is answered with 304 by the ServerResponse itself (ETag = version)
+    public Mono<ServerResponse> getUnicorn(ServerRequest request) {
+        var unicornId = request.pathVariable("unicornId");
+        return unicornRepository.findById(unicornId)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND, "Unicorn not found with ID: " + unicornId)))
+            .flatMap(unicorn -> ServerResponse.ok().eTag(String.valueOf(unicorn.getVersion())).bodyValue(unicorn));
+    }
+
+    public Mono<ServerResponse> updateUnicorn(ServerRequest request) {
+        var unicornId = request.pathVariable("unicornId");
+        var expectedVersion = expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return request.bodyToMono(Unicorn.class)
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Unicorn cannot be null")))
+            .map(unicorn -> unicorn.withId(unicornId))
+            .flatMap(unicorn -> unicornRepository.update(unicornId, expectedVersion, unicorn)
+                .flatMap(updated -> checkAffected(updated, unicornId, expectedVersion))
+                .then(Mono.fromSupplier(() -> {
+                    unicorn.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+                    return unicorn;
+                })))
+            .doOnNext(updated -> publish(updated, UnicornEventType.UNICORN_UPDATED))
+            .flatMap(updated -> {
+                logger.info("Successfully updated unicorn with ID: {}", unicornId);
+                var response = ServerResponse.ok();
+                if (updated.getVersion() != null) {
+                    response.eTag(String.valueOf(updated.getVersion()));
+                }
+                return response.bodyValue(updated);
+            })
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(BAD_REQUEST, e.getMessage(), e));
+    }
+
+    public Mono<ServerResponse> deleteUnicorn(ServerRequest request) {
+        var unicornId = request.pathVariable("unicornId");
+        var expectedVersion = expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return unicornRepository.delete(unicornId, expectedVersion)
+            .flatMap(deleted -> checkAffected(deleted, unicornId, expectedVersion))
+            .then(Mono.defer(() -> {
+                var deletedUnicorn = new Unicorn();
+                deletedUnicorn.setId(unicornId);
+                publish(deletedUnicorn, UnicornEventType.UNICORN_DELETED);
+                logger.info("Successfully deleted unicorn with ID: {}", unicornId);
+                return ServerResponse.ok().build();
+            }));
+    }
+
+    // No row affected: the unicorn is missing (404) or, with If-Match, was changed concurrently (412)
+    private Mono<Void> checkAffected(long affected, String unicornId, Long expectedVersion) {
+        if (affected > 0) {
+            return Mono.empty();
+        }
+        var notFound = Mono.<Void>error(new ResponseStatusException(NOT_FOUND, "Unicorn not found with ID: " + unicornId));
+        if (expectedVersion == null) {
+            return notFound;
+        }
+        return unicornRepository.existsById(unicornId)
+            .flatMap(exists -> exists
+                ? Mono.error(new ResponseStatusException(PRECONDITION_FAILED,
+                    "Unicorn " + unicornId + " is no longer at version " + expectedVersion))
+                : notFound);
+    }
+
+    // Like the servlet outbox, the response never waits on EventBridge: the async client's future
+    // completes on its own and no thread blocks on it. The change is already committed, so a failed
+    // delivery is logged rather than failing the request.
+    private void publish(Unicorn unicorn, UnicornEventType eventType) {
+        unicornPublisher.publish(unicorn, eventType).whenComplete((_, e) -> {
+            if (e != null) {
+                logger.warn("Event {} for unicorn ID {} was not delivered: {}", eventType, unicorn.getId(), e.getMessage());
+            }
+        });
+    }
+
+    // Same If-Match rules as UnicornController: "*" or no header is unconditional, unknown tags never match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.strip();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException _) {
+                // Java 22 unnamed variable (_) - falls through to 412
+            }
+        }
+        throw new ResponseStatusException(PRECONDITION_FAILED, "If-Match does not match the current ETag");
+    }
+}
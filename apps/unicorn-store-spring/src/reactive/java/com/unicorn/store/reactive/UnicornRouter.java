@@ -0,0 +1,34 @@
+package com.unicorn.store.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// Functional routes for the reactive profile - the same /unicorns API as UnicornController
+@Profile("reactive")
+@Configuration
+public class UnicornRouter {
+
+    // Only an explicit Accept: application/x-ndjson streams; */* gets the paginated JSON list (as in MVC)
+    private static final RequestPredicate NDJSON = request ->
+        request.headers().accept().contains(MediaType.APPLICATION_NDJSON);
+
+    @Bean
+    public RouterFunction<ServerResponse> unicornRoutes(UnicornHandler unicornHandler) {
+        return route()
+            .GET("/", _ -> ServerResponse.ok().bodyValue("Welcome to the Unicorn Store!"))
+            .GET("/unicorns", NDJSON, unicornHandler::streamAllUnicorns)
+            .GET("/unicorns", unicornHandler::getAllUnicorns)
+            .POST("/unicorns", unicornHandler::createUnicorn)
+            .GET("/unicorns/{unicornId}", unicornHandler::getUnicorn)
+            .PUT("/unicorns/{unicornId}", unicornHandler::updateUnicorn)
+            .DELETE("/unicorns/{unicornId}", unicornHandler::deleteUnicorn)
+            .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.unicorn.store.benchmark;
+
+import com.unicorn.store.StoreApplication;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.reactive.ReactiveStoreApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Servlet (MVC + virtual threads + JPA) vs reactive (WebFlux + R2DBC) at high client concurrency.
+// Both runtimes get the same 10-connection pool and serve the same DB-bound workload: keyset pages
+// of 20 unicorns from a random cursor. Run with: mvn test -Preactive,benchmark
+// (-Dbenchmark.concurrency=1000,10000 -Dbenchmark.requests-per-client=5)
+@Tag("benchmark")
+@TestInfrastructure
+class ServletVsReactiveBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(ServletVsReactiveBenchmarkTest.class);
+
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("benchmark.concurrency", "1000,10000")
+            .split(",")).mapToInt(value -> Integer.parseInt(value.strip())).toArray();
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests-per-client", 5);
+    private static final int SEED_ROWS = 10_000;
+    private static final int WARMUP_CLIENTS = 200;
+
+    private static final String[] COMMON_PROPERTIES = {
+        "server.port=0",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.r2dbc.pool.initial-size=10",
+        "spring.r2dbc.pool.max-size=10",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000",
+        // Compare how the runtimes queue, not how fast the servlet side sheds load
+        "unicorn.datasource.admission.max-queue-depth=100000",
+        "unicorn.datasource.admission.max-wait=5m",
+        "logging.level.com.unicorn.store=WARN",
+        "logging.level.com.unicorn.store.benchmark=INFO"
+    };
+
+    record Result(String runtime, int clients, int requests, int errors, double throughput, long p50Micros,
+                  long p99Micros) {}
+
+    @Test
+    void compareServletAndReactiveRuntimes() {
+        try (var servlet = new SpringApplicationBuilder(StoreApplication.class)
+                .properties(COMMON_PROPERTIES)
+                .run();
+             var reactive = new SpringApplicationBuilder(ReactiveStoreApplication.class)
+                .profiles("reactive")
+                .web(WebApplicationType.REACTIVE)
+                .properties(COMMON_PROPERTIES)
+                .run()) {
+            var cursors = seed(servlet.getBean(JdbcTemplate.class));
+            var servletPort = port(servlet);
+            var reactivePort = port(reactive);
+
+            run("servlet", servletPort, WARMUP_CLIENTS, cursors);
+            run("reactive", reactivePort, WARMUP_CLIENTS, cursors);
+
+            for (int clients : CONCURRENCY) {
+                var results = List.of(run("servlet", servletPort, clients, cursors),
+                        run("reactive", reactivePort, clients, cursors));
+                results.forEach(result -> {
+                    logger.info("{} @ {} clients: {} requests, {} errors, {} req/s, p50 {} us, p99 {} us",
+                            result.runtime(), result.clients(), result.requests(), result.errors(),
+                            "%.0f".formatted(result.throughput()), result.p50Micros(), result.p99Micros());
+                    assertThat(result.errors()).isLessThan(result.requests() / 100 + 1);
+                });
+            }
+        }
+    }
+
+    private static List<String> seed(JdbcTemplate jdbcTemplate) {
+        var ids = IntStream.range(0, SEED_ROWS).mapToObj(_ -> UUID.randomUUID().toString()).toList();
+        jdbcTemplate.batchUpdate("INSERT INTO unicorns (id, name, age, size, type, version) VALUES (?, ?, ?, ?, ?, 0)",
+                ids.stream().map(id -> new Object[] {id, "Bench", "3", "Small", "standard"}).toList());
+        return ids;
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    // Each client sends its requests one after another; all clients run at once.
+    // The client gets its own event loops so it does not compete with the reactive server's.
+    private static Result run(String runtime, int port, int clients, List<String> cursors) {
+        var provider = ConnectionProvider.builder("benchmark-" + runtime)
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(5))
+                .build();
+        var loops = LoopResources.create("benchmark-client");
+        var httpClient = HttpClient.create(provider)
+                .runOn(loops)
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofMinutes(2));
+
+        int requests = clients * REQUESTS_PER_CLIENT;
+        var latencies = new long[requests];
+        var recorded = new AtomicInteger();
+        var errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try {
+            Flux.range(0, clients)
+                    .flatMap(_ -> Flux.range(0, REQUESTS_PER_CLIENT)
+                            .concatMap(_ -> request(httpClient, cursors, latencies, recorded, errors)), clients)
+                    .blockLast(Duration.ofMinutes(30));
+        } finally {
+            provider.dispose();
+            loops.dispose();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        var sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        return new Result(runtime, clients, requests, errors.get(), requests / seconds,
+                percentile(sorted, 0.50) / 1_000, percentile(sorted, 0.99) / 1_000);
+    }
+
+    private static Mono<Integer> request(HttpClient httpClient, List<String> cursors, long[] latencies,
+                                         AtomicInteger recorded, AtomicInteger errors) {
+        return Mono.defer(() -> {
+            var cursor = cursors.get(ThreadLocalRandom.current().nextInt(cursors.size()));
+            long start = System.nanoTime();
+            return httpClient.get()
+                    .uri("/unicorns?limit=20&after=" + cursor)
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                    .doOnNext(status -> {
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - start;
+                        if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    })
+                    .onErrorResume(_ -> {
+                        errors.incrementAndGet();
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
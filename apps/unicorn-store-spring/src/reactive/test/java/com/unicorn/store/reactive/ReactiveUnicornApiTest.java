@@ -0,0 +1,126 @@
+package com.unicorn.store.reactive;
+
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.model.Unicorn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Integration tests for the WebFlux/R2DBC runtime - run with: mvn test -Preactive
+@SpringBootTest(classes = ReactiveStoreApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.sql.init.mode=always")
+@ActiveProfiles("reactive")
+@TestInfrastructure
+class ReactiveUnicornApiTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+    }
+
+    @Test
+    void shouldCreateReadUpdateAndDeleteUnicorn() {
+        var created = webTestClient.post()
+            .uri("/unicorns")
+            .bodyValue(new Unicorn("Reactive", "3", "Small", "standard"))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectHeader().valueEquals("ETag", "\"0\"")
+            .expectBody(Unicorn.class)
+            .returnResult()
+            .getResponseBody();
+        var id = created.getId();
+
+        webTestClient.get()
+            .uri("/unicorns/" + id)
+            .ifNoneMatch("\"0\"")
+            .exchange()
+            .expectStatus().isNotModified();
+
+        webTestClient.put()
+            .uri("/unicorns/" + id)
+            .header("If-Match", "\"0\"")
+            .bodyValue(new Unicorn("Reactive2", "4", "Small", "standard"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals("ETag", "\"1\"");
+
+        webTestClient.put()
+            .uri("/unicorns/" + id)
+            .header("If-Match", "\"0\"")
+            .bodyValue(new Unicorn("Stale", "4", "Small", "standard"))
+            .exchange()
+            .expectStatus().isEqualTo(412);
+
+        webTestClient.get()
+            .uri("/unicorns/" + id)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Unicorn.class)
+            .value(u -> assertThat(u.getName()).isEqualTo("Reactive2"));
+
+        webTestClient.delete()
+            .uri("/unicorns/" + id)
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient.get()
+            .uri("/unicorns/" + id)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldRejectInvalidUnicorn() {
+        webTestClient.post()
+            .uri("/unicorns")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"age\":\"3\",\"type\":\"standard\"}")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldPageAndStreamUnicorns() {
+        for (int i = 0; i < 3; i++) {
+            webTestClient.post()
+                .uri("/unicorns")
+                .bodyValue(new Unicorn("Paged" + i, "3", "Small", "standard"))
+                .exchange()
+                .expectStatus().isCreated();
+        }
+
+        webTestClient.get()
+            .uri("/unicorns?limit=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists("Link")
+            .expectBodyList(Unicorn.class)
+            .hasSize(2);
+
+        var streamed = webTestClient.get()
+            .uri("/unicorns")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Unicorn.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+        assertThat(streamed).hasSizeGreaterThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,102 @@
+package com.unicorn.store.benchmark;
+
+import com.unicorn.store.StoreApplication;
+import com.unicorn.store.integration.EcsMetadataStub;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.monitoring.ContainerMetadataResolver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Startup cost of the container metadata lookups against a local ECS metadata stub, with a slow and an
+// unresponsive endpoint: the previous sequential lookups (three calls, a new HttpClient each, no timeout)
+// against ContainerMetadataResolver, then full application startups with each endpoint.
+// Run with: mvn test -Pbenchmark -Dtest=ContainerMetadataStartupBenchmarkTest
+//   -Dbenchmark.metadata.latency-ms=300 (per metadata request of the slow endpoint)
+@Tag("benchmark")
+@TestInfrastructure
+class ContainerMetadataStartupBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(ContainerMetadataStartupBenchmarkTest.class);
+
+    private static final Duration LATENCY = Duration.ofMillis(Long.getLong("benchmark.metadata.latency-ms", 300));
+    private static final Duration UNRESPONSIVE = Duration.ofSeconds(30);
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+    private static final int ROUNDS = 5;
+
+    @Test
+    void metadataLookupsShouldNotDelayStartupBeyondOneTimeout() throws Exception {
+        try (var stub = new EcsMetadataStub()) {
+            stub.delay(LATENCY);
+            var sequential = median(() -> sequentialLookups(stub.uri()));
+            var resolver = median(() -> new ContainerMetadataResolver(stub.uri(), TIMEOUT).metadata());
+            stub.delay(UNRESPONSIVE);
+            var resolverUnresponsive = median(() -> new ContainerMetadataResolver(stub.uri(), TIMEOUT).metadata());
+
+            // The first start in this JVM also pays for class loading
+            stub.delay(Duration.ZERO);
+            startApplication(stub.uri());
+            var startupFast = startApplication(stub.uri());
+            stub.delay(LATENCY);
+            var startupSlow = startApplication(stub.uri());
+            stub.delay(UNRESPONSIVE);
+            var startupUnresponsive = startApplication(stub.uri());
+
+            logger.info("Metadata lookups at {} ms per request: sequential {} ms, resolver {} ms; "
+                            + "unresponsive endpoint: resolver {} ms (sequential never returns)",
+                    LATENCY.toMillis(), sequential.toMillis(), resolver.toMillis(), resolverUnresponsive.toMillis());
+            logger.info("Application startup: instant endpoint {} ms, {} ms endpoint {} ms, unresponsive endpoint {} ms",
+                    startupFast.toMillis(), LATENCY.toMillis(), startupSlow.toMillis(), startupUnresponsive.toMillis());
+
+            // Concurrent requests: one round trip instead of three
+            assertThat(resolver).isLessThan(sequential.multipliedBy(2).dividedBy(3));
+            assertThat(resolverUnresponsive).isLessThan(TIMEOUT.plusMillis(500));
+            assertThat(startupUnresponsive).isLessThan(startupFast.plus(TIMEOUT).plusSeconds(3));
+        }
+    }
+
+    // The lookups MonitoringConfig made before ContainerMetadataResolver: cluster name, task ID and IP
+    // one after another, each with its own HttpClient and without a timeout
+    private static int sequentialLookups(String uri) throws IOException, InterruptedException {
+        int bytes = 0;
+        for (var path : new String[] {"/task", "/task", ""}) {
+            bytes += HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(uri + path)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body().length();
+        }
+        return bytes;
+    }
+
+    private static Duration startApplication(String metadataUri) {
+        long start = System.nanoTime();
+        // Command line arguments, so they take precedence over application.yaml
+        try (var _ = new SpringApplicationBuilder(StoreApplication.class)
+                .run("--server.port=0",
+                        "--unicorn.metadata.ecs-uri=" + metadataUri,
+                        "--unicorn.metadata.timeout=" + TIMEOUT.toMillis() + "ms")) {
+            return Duration.ofNanos(System.nanoTime() - start);
+        }
+    }
+
+    private static Duration median(Callable<?> task) throws Exception {
+        var nanos = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.call();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[ROUNDS / 2]);
+    }
+}
@@ -0,0 +1,69 @@
+package com.unicorn.store.benchmark;
+
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.service.UnicornService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rows/sec of the bulk insert path (POST /unicorns/batch) against one createUnicorn call per row.
+// Excluded from the default build - run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@TestInfrastructure
+class UnicornBulkInsertBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornBulkInsertBenchmarkTest.class);
+
+    private static final int ROWS = 1_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Test
+    void bulkInsertShouldOutperformPerItemInsert() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            perItem(unicorns("warmup-item"));
+            unicornService.createUnicorns(unicorns("warmup-bulk"));
+        }
+
+        var perItemRate = measure("per-item", () -> perItem(unicorns("item")));
+        var bulkRate = measure("bulk", () -> unicornService.createUnicorns(unicorns("bulk")));
+
+        logger.info("Bulk insert is {}x faster than per-item insert", "%.1f".formatted(bulkRate / perItemRate));
+        assertThat(bulkRate).isGreaterThan(perItemRate);
+    }
+
+    private void perItem(List<Unicorn> unicorns) {
+        unicorns.forEach(unicornService::createUnicorn);
+    }
+
+    private double measure(String name, Runnable round) {
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            round.run();
+            elapsed += System.nanoTime() - start;
+        }
+        var rowsPerSecond = (double) ROWS * MEASURED_ROUNDS / (elapsed / 1_000_000_000.0);
+        logger.info("{}: {} rows in {} ms - {} rows/s", name, ROWS * MEASURED_ROUNDS, elapsed / 1_000_000,
+                "%.0f".formatted(rowsPerSecond));
+        return rowsPerSecond;
+    }
+
+    private static List<Unicorn> unicorns(String prefix) {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> new Unicorn(prefix + i, "4", "Small", "standard"))
+                .toList();
+    }
+}
@@ -0,0 +1,143 @@
+package com.unicorn.store.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import com.unicorn.store.data.UnicornRepository;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.integration.TestInfrastructureInitializer;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.service.UnicornService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Rows/sec and heap churn (bytes allocated per row, whole JVM: server and client) of the COPY export
+// (GET /unicorns/export) against paging through the JSON list endpoint (GET /unicorns?limit=1000).
+// Both sides drain the body into the same reusable buffer, so the client adds the same small cost to each.
+// PostgreSQL only (needs Docker). Run with: mvn test -Pbenchmark -Dtest=UnicornExportBenchmarkTest
+//   -Dbenchmark.export.rows=100000 (default)
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInfrastructure
+class UnicornExportBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornExportBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.export.rows", 100_000);
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PAGE_SIZE = 1_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
+    record Result(String name, double rowsPerSecond, double bytesAllocatedPerRow) {}
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private UnicornRepository unicornRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final byte[] buffer = new byte[64 * 1024];
+
+    @Test
+    void copyExportShouldOutperformJsonPaging() throws Exception {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isTrue();
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            unicornService.createUnicorns(IntStream.range(offset, Math.min(offset + BATCH_SIZE, ROWS))
+                    .mapToObj(i -> new Unicorn("unicorn-" + i, String.valueOf(i % 100), "Small", "standard"))
+                    .toList());
+        }
+        // Other tests may have left rows behind; both endpoints return the whole table
+        var rows = unicornRepository.count();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            jsonPages();
+            export("csv");
+            export("binary");
+        }
+
+        var json = measure("json", rows, this::jsonPages);
+        var csv = measure("copy csv", rows, () -> export("csv"));
+        var binary = measure("copy binary", rows, () -> export("binary"));
+
+        logger.info("COPY csv export is {}x faster than JSON paging with {}x less allocation per row",
+                "%.1f".formatted(csv.rowsPerSecond() / json.rowsPerSecond()),
+                "%.1f".formatted(json.bytesAllocatedPerRow() / csv.bytesAllocatedPerRow()));
+        assertThat(csv.rowsPerSecond()).isGreaterThan(json.rowsPerSecond());
+        assertThat(binary.rowsPerSecond()).isGreaterThan(json.rowsPerSecond());
+        assertThat(csv.bytesAllocatedPerRow()).isLessThan(json.bytesAllocatedPerRow());
+    }
+
+    private void jsonPages() throws IOException, InterruptedException {
+        var next = "/unicorns?limit=" + PAGE_SIZE;
+        while (next != null) {
+            var response = get(next);
+            next = response.headers().firstValue("Link")
+                    .map(NEXT_LINK::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> matcher.group(1))
+                    .orElse(null);
+        }
+    }
+
+    private void export(String format) throws IOException, InterruptedException {
+        get("/unicorns/export?format=" + format);
+    }
+
+    private HttpResponse<InputStream> get(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        try (var body = response.body()) {
+            while (body.read(buffer) != -1) {
+                // Drained, not parsed
+            }
+        }
+        return response;
+    }
+
+    private Result measure(String name, long rows, Round round) throws Exception {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            round.run();
+            elapsed += System.nanoTime() - start;
+        }
+        long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+
+        var result = new Result(name, (double) rows * MEASURED_ROUNDS / (elapsed / 1_000_000_000.0),
+                (double) allocated / (rows * MEASURED_ROUNDS));
+        logger.info("{}: {} rows in {} ms - {} rows/s, {} bytes allocated per row", name, rows * MEASURED_ROUNDS,
+                elapsed / 1_000_000, "%.0f".formatted(result.rowsPerSecond()),
+                "%.0f".formatted(result.bytesAllocatedPerRow()));
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        void run() throws Exception;
+    }
+}
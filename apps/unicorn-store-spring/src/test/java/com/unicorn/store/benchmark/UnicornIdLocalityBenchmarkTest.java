@@ -0,0 +1,102 @@
+package com.unicorn.store.benchmark;
+
+import com.unicorn.store.data.UuidV7;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.integration.TestInfrastructureInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Primary key locality of random UUIDv4 against time-ordered UUIDv7 IDs: insert rate and size of the
+// TEXT primary key index after loading the same number of unicorn rows into two scratch tables.
+// PostgreSQL only (needs Docker). Run with: mvn test -Pbenchmark -Dtest=UnicornIdLocalityBenchmarkTest
+//   -Dbenchmark.id-locality.rows=10000000 (default) - the gap widens once the index outgrows shared_buffers
+@Tag("benchmark")
+@SpringBootTest
+@TestInfrastructure
+class UnicornIdLocalityBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornIdLocalityBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.id-locality.rows", 10_000_000);
+    private static final int BATCH_SIZE = 1_000;
+    // Insert rate is also reported for the last tenth of the rows, where the index is largest
+    private static final int TAIL_OFFSET = ROWS * 9 / 10 / BATCH_SIZE * BATCH_SIZE;
+    private static final int TAIL_ROWS = ROWS - TAIL_OFFSET;
+
+    record Result(String name, double rowsPerSecond, double tailRowsPerSecond, long indexBytes, long tableBytes) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropTables() {
+        if (TestInfrastructureInitializer.isPostgresRunning()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS unicorns_ids_v4, unicorns_ids_v7");
+        }
+    }
+
+    @Test
+    void uuidV7KeysShouldKeepPrimaryKeyIndexSmaller() {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isTrue();
+
+        var v4 = load("unicorns_ids_v4", () -> UUID.randomUUID().toString());
+        var v7 = load("unicorns_ids_v7", UuidV7::nextString);
+
+        for (var result : List.of(v4, v7)) {
+            logger.info("{}: {} rows/s overall, {} rows/s for the last {} rows, primary key {} MB, table {} MB",
+                    result.name(), "%.0f".formatted(result.rowsPerSecond()), "%.0f".formatted(result.tailRowsPerSecond()),
+                    TAIL_ROWS, result.indexBytes() / (1024 * 1024), result.tableBytes() / (1024 * 1024));
+        }
+        logger.info("UUIDv7 vs v4 at {} rows: {}x insert rate ({}x on the last rows), {}% of the primary key size",
+                ROWS, "%.2f".formatted(v7.rowsPerSecond() / v4.rowsPerSecond()),
+                "%.2f".formatted(v7.tailRowsPerSecond() / v4.tailRowsPerSecond()),
+                "%.0f".formatted(100.0 * v7.indexBytes() / v4.indexBytes()));
+
+        // Appends split only the right-most leaf (90/10), random keys split pages all over the tree (50/50)
+        assertThat(v7.indexBytes()).isLessThan(v4.indexBytes());
+    }
+
+    private Result load(String table, Supplier<String> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+                + " (id TEXT PRIMARY KEY, name TEXT, age TEXT, size TEXT, type TEXT, version BIGINT NOT NULL DEFAULT 0)");
+        var insert = "INSERT INTO " + table + " (id, name, age, size, type, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+        long start = System.nanoTime();
+        long tailStart = start;
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            if (offset == TAIL_OFFSET) {
+                tailStart = System.nanoTime();
+            }
+            var batch = new ArrayList<Object[]>(BATCH_SIZE);
+            for (int i = offset; i < Math.min(ROWS, offset + BATCH_SIZE); i++) {
+                batch.add(new Object[] {ids.get(), "Unicorn" + i, "5", "Medium", "standard"});
+            }
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+        long end = System.nanoTime();
+
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        var indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        var tableBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table);
+        return new Result(table, ROWS / seconds(end - start), TAIL_ROWS / seconds(end - tailStart),
+                indexBytes, tableBytes);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
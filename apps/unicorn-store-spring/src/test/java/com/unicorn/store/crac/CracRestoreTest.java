@@ -0,0 +1,161 @@
+package com.unicorn.store.crac;
+
+import com.unicorn.store.StoreApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Checkpoints the application during refresh (as Dockerfile.08-crac does), restores it and checks
+// that the first GET /unicorns after restore is fast - faster than the first one after a cold start.
+// The application runs in a forked JVM on an in-memory H2 database (kept alive across the checkpoint).
+// Linux with a CRaC JDK only, run with: mvn test -Pcrac
+//   -Dcrac.java.home=/path/to/zulu25-crac (default: the JDK running Maven)
+//   -Dcrac.engine=warp (criu for older CRaC JDKs) -Dcrac.first-request-budget-ms=100
+// Process output is written to target/crac-test/.
+@Tag("crac")
+class CracRestoreTest {
+    private static final Logger logger = LoggerFactory.getLogger(CracRestoreTest.class);
+
+    private static final Path JAVA = Path.of(System.getProperty("crac.java.home", System.getProperty("java.home")),
+            "bin", "java");
+    private static final String ENGINE = System.getProperty("crac.engine", "warp");
+    private static final long FIRST_REQUEST_BUDGET_MS = Long.getLong("crac.first-request-budget-ms", 100);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Path WORK_DIR = Path.of("target", "crac-test");
+    // Same port for every run: a restored process keeps the configuration it was checkpointed with
+    private static final int PORT = freePort();
+
+    record FirstRequest(Duration untilReady, Duration latency) {}
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    void firstRequestAfterRestoreShouldBeFast() throws Exception {
+        assumeThat(System.getProperty("os.name")).as("CRaC needs Linux").startsWith("Linux");
+        assumeThat(supportsCrac()).as("%s supports -XX:CRaCEngine=%s", JAVA, ENGINE).isTrue();
+        Files.createDirectories(WORK_DIR);
+        var imageDir = Files.createTempDirectory(WORK_DIR.toAbsolutePath(), "image");
+
+        var cold = firstRequest(start("cold", List.of()), "cold");
+
+        // The JVM takes the checkpoint once the singletons exist (after the warm-up) and exits
+        var checkpoint = start("checkpoint", List.of(
+                "-XX:CRaCCheckpointTo=" + imageDir, "-Dspring.context.checkpoint=onRefresh"));
+        assertThat(checkpoint.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+                .as("checkpoint process exits").isTrue();
+
+        var restored = firstRequest(launch("restore", List.of(JAVA.toString(),
+                "-XX:CRaCEngine=" + ENGINE, "-XX:CRaCRestoreFrom=" + imageDir)), "restore");
+
+        logger.info("Cold start: ready after {} ms, first request {} ms; restore: ready after {} ms, first request {} ms",
+                cold.untilReady().toMillis(), cold.latency().toMillis(),
+                restored.untilReady().toMillis(), restored.latency().toMillis());
+        assertThat(restored.latency()).isLessThan(Duration.ofMillis(FIRST_REQUEST_BUDGET_MS));
+        assertThat(restored.latency()).isLessThan(cold.latency());
+        assertThat(restored.untilReady()).isLessThan(cold.untilReady());
+    }
+
+    private boolean supportsCrac() throws IOException, InterruptedException {
+        if (!Files.isExecutable(JAVA)) {
+            return false;
+        }
+        var process = new ProcessBuilder(JAVA.toString(), "-XX:CRaCEngine=" + ENGINE,
+                "-XX:CRaCCheckpointTo=" + WORK_DIR.resolve("probe").toAbsolutePath(), "-version")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        return process.waitFor(30, TimeUnit.SECONDS) && process.exitValue() == 0;
+    }
+
+    private Process start(String name, List<String> jvmOptions) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(JAVA.toString());
+        command.add("-XX:CRaCEngine=" + ENGINE);
+        command.addAll(jvmOptions);
+        command.addAll(List.of(
+                "-cp", System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+                "-Dserver.port=" + PORT,
+                "-Dspring.datasource.url=jdbc:h2:mem:cracdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "-Dspring.datasource.username=sa",
+                "-Dspring.datasource.password=password",
+                "-Dspring.datasource.driver-class-name=org.h2.Driver",
+                "-Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "-Dspring.sql.init.mode=never",
+                "-Dspring.jpa.hibernate.ddl-auto=create",
+                "-Daws.accessKeyId=test",
+                "-Daws.secretAccessKey=test",
+                "-Daws.region=us-east-1",
+                "-Daws.endpointUrl=http://localhost:4566",
+                StoreApplication.class.getName()));
+        return launch(name, command);
+    }
+
+    private Process launch(String name, List<String> command) throws IOException {
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(WORK_DIR.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    // Waits for readiness, then times the first GET /unicorns; the process is stopped afterwards
+    private FirstRequest firstRequest(Process process, String name) throws Exception {
+        long start = System.nanoTime();
+        try {
+            var readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/health/readiness"))
+                    .build();
+            while (true) {
+                assertThat(process.isAlive()).as("%s process is running (see %s.log)", name, name).isTrue();
+                assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(STARTUP_TIMEOUT);
+                try {
+                    if (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException _) {
+                    // Java 22 unnamed variable (_)
+                }
+                Thread.sleep(10);
+            }
+            var untilReady = Duration.ofNanos(System.nanoTime() - start);
+
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/unicorns?limit=10")).build();
+            long requestStart = System.nanoTime();
+            var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            var latency = Duration.ofNanos(System.nanoTime() - requestStart);
+            assertThat(status).isIn(200, 204);
+            return new FirstRequest(untilReady, latency);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
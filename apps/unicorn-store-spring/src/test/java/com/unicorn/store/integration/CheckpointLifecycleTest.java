@@ -0,0 +1,111 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.OutboxRepository;
+import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.data.UnicornRepository;
+import com.unicorn.store.exceptions.PublisherException;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornEventType;
+import com.unicorn.store.service.CheckpointWarmup;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CRaC hooks driven directly, without a checkpoint: a real checkpoint/restore needs a CRaC JDK
+// and runs in CracRestoreTest (mvn test -Pcrac)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.crac.warmup.iterations=5",
+    // Keep the outbox relay from racing the pool lifecycle assertions
+    "unicorn.outbox.poll-interval=1h",
+    "unicorn.outbox.metrics-interval=1h"
+})
+@TestInfrastructure
+class CheckpointLifecycleTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UnicornPublisher unicornPublisher;
+
+    @Autowired
+    private CheckpointWarmup checkpointWarmup;
+
+    @Autowired
+    private HikariCheckpointRestoreLifecycle hikariLifecycle;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UnicornRepository unicornRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Test
+    void publisherShouldRejectEventsWhileCheckpointedAndRecreateClientAfterRestore() {
+        var clientBefore = ReflectionTestUtils.getField(unicornPublisher, "eventBridgeClient");
+
+        unicornPublisher.beforeCheckpoint(null);
+        try {
+            var unicorn = new Unicorn("Checkpointed", "3", "Small", "standard").withId("checkpointed");
+            assertThatThrownBy(() -> unicornPublisher.publish(unicorn, UnicornEventType.UNICORN_CREATED).join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(PublisherException.class)
+                .rootCause().hasMessage("Publisher is shut down");
+        } finally {
+            unicornPublisher.afterRestore(null);
+        }
+
+        assertThat(ReflectionTestUtils.getField(unicornPublisher, "eventBridgeClient"))
+            .isNotNull()
+            .isNotSameAs(clientBefore);
+        assertThat(ReflectionTestUtils.getField(unicornPublisher, "batcher"))
+            .extracting("running").isEqualTo(true);
+    }
+
+    @Test
+    void hikariPoolShouldCloseConnectionsBeforeCheckpointAndReopenAfterRestore() throws SQLException {
+        // Boot's lifecycle finds the pool behind the admission control wrapper
+        var hikari = dataSource.unwrap(HikariDataSource.class);
+        var webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+        webTestClient.get().uri("/unicorns").exchange().expectStatus().is2xxSuccessful();
+
+        hikariLifecycle.stop();
+        try {
+            assertThat(hikariLifecycle.isRunning()).isFalse();
+            assertThat(hikari.getHikariPoolMXBean().getTotalConnections()).isZero();
+        } finally {
+            hikariLifecycle.start();
+        }
+
+        assertThat(hikariLifecycle.isRunning()).isTrue();
+        webTestClient.get().uri("/unicorns").exchange().expectStatus().is2xxSuccessful();
+    }
+
+    @Test
+    void warmUpShouldLeaveNoRowsBehind() {
+        var unicorns = unicornRepository.count();
+        var events = outboxRepository.count();
+
+        assertThat(checkpointWarmup.warmUp()).isEqualTo(5);
+
+        assertThat(unicornRepository.count()).isEqualTo(unicorns);
+        assertThat(outboxRepository.count()).isEqualTo(events);
+    }
+}
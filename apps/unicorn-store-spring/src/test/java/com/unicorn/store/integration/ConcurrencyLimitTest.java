@@ -0,0 +1,141 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.filter.AdaptiveConcurrencyLimiter;
+import com.unicorn.store.filter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Adaptive concurrency limit: the gradient reacts to latency and drops; excess requests get 503 + Retry-After
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.concurrency.initial-limit=1",
+    "unicorn.concurrency.min-limit=1",
+    "unicorn.concurrency.max-limit=1",
+    "unicorn.concurrency.retry-after=3s"
+})
+@TestInfrastructure
+class ConcurrencyLimitTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofMillis(100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldShedRequestsBeyondTheLimitWithRetryAfter() {
+        var webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+        var limiter = concurrencyLimitFilter.getLimiter();
+        double shed = meterRegistry.get("unicorn.concurrency.shed").counter().count();
+
+        // Take the only slot, as a concurrent request would
+        var permit = limiter.tryAcquire().orElseThrow();
+        try {
+            webTestClient.get()
+                .uri("/unicorns")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "3");
+            // Only the store API is limited
+            webTestClient.get()
+                .uri("/actuator/health")
+                .exchange()
+                .expectStatus().isOk();
+        } finally {
+            limiter.onIgnore(permit);
+        }
+
+        assertThat(meterRegistry.get("unicorn.concurrency.shed").counter().count()).isEqualTo(shed + 1);
+        webTestClient.get()
+            .uri("/unicorns")
+            .exchange()
+            .expectStatus().is2xxSuccessful();
+        assertThat(meterRegistry.get("unicorn.concurrency.inflight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("unicorn.concurrency.limit").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRaiseTheLimitWhileLatencyHolds() {
+        var clock = new AtomicLong();
+        var limiter = limiter(clock, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 20; i++) {
+            round(limiter, clock, FAST);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(20).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void shouldLowerTheLimitWhenLatencyRises() {
+        var clock = new AtomicLong();
+        var limiter = limiter(clock, new SimpleMeterRegistry());
+        for (int i = 0; i < 20; i++) {
+            round(limiter, clock, FAST);
+        }
+        int unloaded = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            round(limiter, clock, SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(unloaded / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldShedAtTheLimitAndBackOffOnDrops() {
+        var clock = new AtomicLong();
+        var meters = new SimpleMeterRegistry();
+        var limiter = limiter(clock, meters);
+        var permits = new ArrayList<AdaptiveConcurrencyLimiter.Permit>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+
+        assertThat(limiter.tryAcquire()).isEmpty();
+        assertThat(meters.get("unicorn.concurrency.shed").counter().count()).isEqualTo(1);
+        assertThat(meters.get("unicorn.concurrency.inflight").gauge().value()).isEqualTo(20);
+
+        // Rejected further down (admission control): two windows of drops, 20 -> 18 -> 16
+        clock.addAndGet(FAST.toNanos());
+        permits.forEach(limiter::onDropped);
+        assertThat(limiter.getLimit()).isEqualTo(16);
+        assertThat(meters.get("unicorn.concurrency.limit").gauge().value()).isEqualTo(16);
+        assertThat(meters.get("unicorn.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    // Zero window: every 10 samples are evaluated at once
+    private static AdaptiveConcurrencyLimiter limiter(AtomicLong clock, MeterRegistry meters) {
+        return new AdaptiveConcurrencyLimiter(20, 4, 200, 2.0, 0.2, Duration.ZERO, clock::get, meters);
+    }
+
+    // Fills the limit, then completes all requests after the given latency - highest in-flight count first,
+    // so every window sees the full concurrency and is not treated as idle
+    private static void round(AdaptiveConcurrencyLimiter limiter, AtomicLong clock, Duration latency) {
+        var permits = new ArrayList<AdaptiveConcurrencyLimiter.Permit>();
+        for (int i = limiter.getLimit(); i > 0; i--) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+        clock.addAndGet(latency.toNanos());
+        permits.reversed().forEach(limiter::onSuccess);
+    }
+}
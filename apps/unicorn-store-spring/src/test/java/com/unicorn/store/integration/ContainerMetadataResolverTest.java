@@ -0,0 +1,83 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.monitoring.ContainerMetadataResolver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Container metadata resolution against a local ECS metadata stub: parsing, memoization, concurrency, timeouts
+class ContainerMetadataResolverTest {
+
+    @Test
+    void shouldResolveEcsMetadataOnceAndMemoizeIt() throws Exception {
+        try (var stub = new EcsMetadataStub()) {
+            var resolver = new ContainerMetadataResolver(stub.uri(), Duration.ofSeconds(1));
+
+            var metadata = resolver.metadata();
+
+            assertThat(metadata.clusterType()).isEqualTo("ecs");
+            assertThat(metadata.cluster()).isEqualTo("unicorn-cluster");
+            assertThat(metadata.taskOrPodId()).isEqualTo("0123456789abcdef");
+            assertThat(metadata.ipAddress()).isEqualTo("10.0.1.23");
+            assertThat(metadata.namespace()).isEmpty();
+
+            assertThat(resolver.metadata()).isSameAs(metadata);
+            // One task document for cluster and task ID, one container document for the IP
+            assertThat(stub.requests("/task")).isEqualTo(1);
+            assertThat(stub.requests("/")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldFetchTaskAndContainerMetadataConcurrently() throws Exception {
+        try (var stub = new EcsMetadataStub().delay(Duration.ofMillis(500))) {
+            var resolver = new ContainerMetadataResolver(stub.uri(), Duration.ofSeconds(5));
+
+            long start = System.nanoTime();
+            resolver.metadata();
+
+            // Two sequential calls would take at least 1s
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+        }
+    }
+
+    @Test
+    void shouldFallBackToUnknownWhenEndpointIsTooSlow() throws Exception {
+        try (var stub = new EcsMetadataStub().delay(Duration.ofSeconds(10))) {
+            var resolver = new ContainerMetadataResolver(stub.uri(), Duration.ofMillis(200));
+
+            long start = System.nanoTime();
+            var metadata = resolver.metadata();
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(metadata.cluster()).isEqualTo("unknown");
+            assertThat(metadata.taskOrPodId()).isEqualTo("unknown");
+            // The IP falls back to the pod IP or the local address
+            assertThat(metadata.ipAddress()).isNotEqualTo("10.0.1.23");
+        }
+    }
+
+    @Test
+    void shouldResolveAgainOnRefresh() throws Exception {
+        try (var stub = new EcsMetadataStub()) {
+            var resolver = new ContainerMetadataResolver(stub.uri(), Duration.ofSeconds(1));
+            resolver.metadata();
+
+            stub.taskId("fedcba9876543210");
+
+            assertThat(resolver.metadata().taskOrPodId()).isEqualTo("0123456789abcdef");
+            assertThat(resolver.refresh().taskOrPodId()).isEqualTo("fedcba9876543210");
+            assertThat(resolver.metadata().taskOrPodId()).isEqualTo("fedcba9876543210");
+        }
+    }
+
+    @Test
+    void shouldNotCallAnyEndpointOutsideEcs() {
+        var metadata = new ContainerMetadataResolver("", Duration.ofSeconds(1)).metadata();
+
+        assertThat(metadata.clusterType()).isEqualTo("eks");
+        assertThat(metadata.containerName()).isEqualTo("unicorn-store-spring");
+    }
+}
@@ -0,0 +1,119 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.AdmissionControlledDataSource;
+import com.unicorn.store.exceptions.ConnectionAdmissionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Connection admission control: fast 503s instead of pool timeouts, FIFO waiting, metrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.datasource.admission.max-concurrency=1",
+    "unicorn.datasource.admission.max-queue-depth=0",
+    "unicorn.datasource.admission.max-wait=200ms",
+    // Keep the outbox relay from taking the only connection during the test
+    "unicorn.outbox.poll-interval=1h",
+    "unicorn.outbox.metrics-interval=1h"
+})
+@TestInfrastructure
+class DataSourceAdmissionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAnswer503WhileConnectionsAreExhausted() throws Exception {
+        assertThat(dataSource).isInstanceOf(AdmissionControlledDataSource.class);
+        var webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+
+        // The outbox relay still runs once at startup; wait until it has returned its connection
+        await().until(() -> meterRegistry.get("unicorn.datasource.admission.active").gauge().value() == 0);
+        try (Connection _ = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            webTestClient.get()
+                .uri("/unicorns")
+                .exchange()
+                .expectStatus().isEqualTo(503);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        }
+
+        assertThat(meterRegistry.get("unicorn.datasource.admission.rejections").tag("reason", "queue_full")
+            .counter().count()).isPositive();
+        webTestClient.get()
+            .uri("/unicorns")
+            .exchange()
+            .expectStatus().is2xxSuccessful();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFullOrWaitTimesOut() throws Exception {
+        var meters = new SimpleMeterRegistry();
+        var admission = new AdmissionControlledDataSource(h2(), 1, 1, Duration.ofMillis(300), meters);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             Connection _ = admission.getConnection()) {
+            var queued = CompletableFuture.supplyAsync(() -> {
+                try (Connection _ = admission.getConnection()) {
+                    return "admitted";
+                } catch (Exception e) {
+                    return e.getClass().getSimpleName();
+                }
+            }, executor);
+            await().until(() -> meters.get("unicorn.datasource.admission.queue").gauge().value() == 1);
+
+            // One caller is already waiting: the next one is turned away without waiting
+            assertThatThrownBy(admission::getConnection)
+                .isInstanceOf(ConnectionAdmissionException.class)
+                .hasMessageContaining("queue is full");
+            assertThat(queued.get()).isEqualTo("ConnectionAdmissionException");
+        }
+
+        assertThat(meters.get("unicorn.datasource.admission.rejections").tag("reason", "queue_full").counter().count())
+            .isEqualTo(1);
+        assertThat(meters.get("unicorn.datasource.admission.rejections").tag("reason", "timeout").counter().count())
+            .isEqualTo(1);
+        assertThat(meters.get("unicorn.datasource.admission.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldReleasePermitOnceWhenConnectionIsClosedTwice() throws Exception {
+        var meters = new SimpleMeterRegistry();
+        var admission = new AdmissionControlledDataSource(h2(), 1, 0, Duration.ofMillis(100), meters);
+
+        var connection = admission.getConnection();
+        connection.close();
+        connection.close();
+
+        try (Connection _ = admission.getConnection()) {
+            assertThat(meters.get("unicorn.datasource.admission.active").gauge().value()).isEqualTo(1);
+            assertThatThrownBy(admission::getConnection).isInstanceOf(ConnectionAdmissionException.class);
+        }
+    }
+
+    private static DataSource h2() {
+        return new DriverManagerDataSource("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
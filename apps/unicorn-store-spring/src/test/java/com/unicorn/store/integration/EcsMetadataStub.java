@@ -0,0 +1,82 @@
+package com.unicorn.store.integration;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local stand-in for the ECS task metadata endpoint v4 (ECS_CONTAINER_METADATA_URI_V4):
+// GET / returns the container document, GET /task the task document, each after a configurable delay
+public class EcsMetadataStub implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private volatile Duration delay = Duration.ZERO;
+    private volatile String taskId = "0123456789abcdef";
+
+    public EcsMetadataStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            var path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, _ -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException _) {
+                // Java 22 unnamed variable (_)
+                Thread.currentThread().interrupt();
+            }
+            var body = (path.equals("/task") ? taskDocument() : containerDocument()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public String uri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public EcsMetadataStub delay(Duration delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    public EcsMetadataStub taskId(String taskId) {
+        this.taskId = taskId;
+        return this;
+    }
+
+    public int requests(String path) {
+        var count = requests.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private String taskDocument() {
+        return """
+            {"Cluster": "arn:aws:ecs:us-east-1:111122223333:cluster/unicorn-cluster",
+             "TaskARN": "arn:aws:ecs:us-east-1:111122223333:task/unicorn-cluster/%s",
+             "Family": "unicorn-store-spring"}
+            """.formatted(taskId);
+    }
+
+    private static String containerDocument() {
+        return """
+            {"Name": "unicorn-store-spring",
+             "Networks": [{"NetworkMode": "awsvpc", "IPv4Addresses": ["10.0.1.23"]}]}
+            """;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,138 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.InstrumentedDataSource;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.monitoring.SlowStatementLog;
+import com.unicorn.store.service.UnicornService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Per-statement JDBC metrics, connection acquire time and the slow statement log at /actuator/slowqueries
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.jdbc.slow-queries.threshold=0ms",
+    "unicorn.jdbc.slow-queries.size=5",
+    "unicorn.outbox.poll-interval=1h",
+    "unicorn.outbox.metrics-interval=1h"
+})
+@TestInfrastructure
+class JdbcInstrumentationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeStatementsByNormalizedSql() throws Exception {
+        assertThat(dataSource.unwrap(InstrumentedDataSource.class)).isNotNull();
+
+        var created = unicornService.createUnicorn(new Unicorn("Measured", "7", "Big", "standard"));
+        unicornService.getAllUnicorns(null, 10);
+
+        var insert = meterRegistry.find("unicorn.jdbc.statement").timers().stream()
+            .filter(timer -> timer.getId().getTag("sql").startsWith("insert into unicorns"))
+            .findFirst().orElseThrow();
+        assertThat(insert.count()).isPositive();
+        assertThat(insert.getId().getTag("datasource")).isEqualTo("dataSource");
+        assertThat(insert.getId().getTag("sql")).doesNotContain("Measured", created.getId());
+
+        var selectRows = meterRegistry.find("unicorn.jdbc.rows").summaries().stream()
+            .filter(rows -> rows.getId().getTag("sql").startsWith("select"))
+            .mapToDouble(rows -> rows.totalAmount())
+            .sum();
+        assertThat(selectRows).isPositive();
+        assertThat(meterRegistry.get("unicorn.jdbc.connection.acquire").tag("datasource", "dataSource")
+            .timer().count()).isPositive();
+    }
+
+    @Test
+    void shouldServeTheSlowestStatementsAtTheActuatorEndpoint() {
+        var webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+        webTestClient.delete().uri("/actuator/slowqueries").exchange().expectStatus().is2xxSuccessful();
+
+        for (int i = 0; i < 10; i++) {
+            unicornService.createUnicorn(new Unicorn("Slow " + i, "7", "Big", "standard"));
+        }
+
+        webTestClient.get()
+            .uri("/actuator/slowqueries")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(5)
+            .jsonPath("$[0].sql").isNotEmpty()
+            .jsonPath("$[0].dataSource").isEqualTo("dataSource")
+            .jsonPath("$[0].durationMillis").isNumber()
+            .jsonPath("$[0].executedAt").isNotEmpty();
+    }
+
+    @Test
+    void shouldShareOneMeterAcrossInListLengthsAndLiterals() {
+        // Capped at two statements: every IN list length and literal variant must fit in them
+        var meters = new SimpleMeterRegistry();
+        var jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(dataSource, "capped", 2, false,
+            new SlowStatementLog(0, Duration.ZERO), meters));
+
+        for (int length = 1; length <= 5; length++) {
+            var ids = IntStream.range(0, length).mapToObj(i -> "missing-" + i).toArray();
+            jdbcTemplate.queryForList("select name from unicorns where id in ("
+                + String.join(", ", Collections.nCopies(length, "?")) + ")", String.class, ids);
+            jdbcTemplate.queryForList("select name from unicorns where age = '" + length + "'", String.class);
+        }
+
+        assertThat(meters.find("unicorn.jdbc.statement").timers())
+            .extracting(timer -> timer.getId().getTag("sql"))
+            .containsExactlyInAnyOrder("select name from unicorns where id in (?)",
+                "select name from unicorns where age = ?", "other");
+        assertThat(meters.get("unicorn.jdbc.statement").tag("sql", "select name from unicorns where id in (?)")
+            .timer().count()).isEqualTo(5);
+        assertThat(meters.get("unicorn.jdbc.statement").tag("sql", "other").timer().count()).isZero();
+    }
+
+    @Test
+    void shouldNormalizeLiteralsAndInLists() {
+        assertThat(InstrumentedDataSource.normalizeSql("""
+                select u.id from unicorns u  /* hint */
+                where u.name = 'O''Brien' and u.age > 42 and u.size in (?, ?, ?) and u1_0.type = $1 limit 10"""))
+            .isEqualTo("select u.id from unicorns u where u.name = ? and u.age > ? and u.size in (?) "
+                + "and u1_0.type = $1 limit ?");
+    }
+
+    @Test
+    void shouldKeepOnlyTheSlowestStatements() {
+        var log = new SlowStatementLog(2, Duration.ofMillis(1));
+
+        log.offer("dataSource", "select ?", Duration.ofMillis(5).toNanos());
+        log.offer("dataSource", "below threshold", Duration.ofNanos(500_000).toNanos());
+        log.offer("dataSource", "update ?", Duration.ofMillis(30).toNanos());
+        log.offer("dataSource", "insert ?", Duration.ofMillis(10).toNanos());
+
+        assertThat(log.slowest())
+            .extracting(SlowStatementLog.SlowStatement::sql)
+            .containsExactly("update ?", "insert ?");
+        log.reset();
+        assertThat(log.slowest()).isEmpty();
+    }
+}
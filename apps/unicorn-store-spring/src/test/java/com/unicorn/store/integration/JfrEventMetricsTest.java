@@ -0,0 +1,161 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.monitoring.JfrEventMetrics;
+import com.unicorn.store.service.ThreadGeneratorService;
+import com.unicorn.store.service.ThreadGeneratorService.ScenarioSpec;
+import com.unicorn.store.service.ThreadScenario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// JFR events produced on purpose (pinning, monitor and lock contention, GC, allocation) show up as
+// unicorn.jfr.* meters and on /actuator/prometheus
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.jfr.pinned-threshold=10ms",
+    "unicorn.jfr.contention-threshold=10ms"
+})
+@TestInfrastructure
+class JfrEventMetricsTest {
+
+    private static final Duration HOLD = Duration.ofMillis(100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JfrEventMetrics jfrEventMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadGeneratorService threadGeneratorService;
+
+    @Test
+    void shouldRecordPinnedVirtualThreads() throws InterruptedException {
+        // Blocking in a class initializer pins the carrier on every JDK (synchronized no longer does from JDK 24)
+        Thread.ofVirtual().start(SlowInitializer::touch).join();
+
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> meterRegistry.get("unicorn.jfr.virtual.thread.pinned").timer().count() > 0);
+        assertThat(meterRegistry.get("unicorn.jfr.virtual.thread.pinned").timer().totalTime(TimeUnit.MILLISECONDS))
+            .isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void shouldRecordPinningFromTheWorkloadGenerator() {
+        long before = count(meterRegistry.get("unicorn.jfr.virtual.thread.pinned").timer());
+
+        threadGeneratorService.start(new ScenarioSpec(ThreadScenario.PINNING, 2, true, 0, null));
+        try {
+            await().atMost(Duration.ofSeconds(10))
+                .until(() -> count(meterRegistry.get("unicorn.jfr.virtual.thread.pinned").timer()) > before);
+        } finally {
+            threadGeneratorService.stopThreads();
+        }
+    }
+
+    @Test
+    void shouldRecordMonitorAndLockContention() throws InterruptedException {
+        var monitor = new Monitor();
+        contend(() -> {
+            synchronized (monitor) {
+                sleep(HOLD);
+            }
+        });
+        var lock = new ReentrantLock();
+        contend(() -> {
+            lock.lock();
+            try {
+                sleep(HOLD);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+            count(meterRegistry.find("unicorn.jfr.monitor.enter").tag("monitor", Monitor.class.getName()).timer()) > 0
+                && count(meterRegistry.find("unicorn.jfr.thread.park")
+                    .tag("blocker", ReentrantLock.class.getName() + "$NonfairSync").timer()) > 0);
+    }
+
+    @Test
+    void shouldRecordGcPausesAndAllocations() {
+        long[] checksum = new long[1];
+        for (int i = 0; i < 1000; i++) {
+            var chunk = new byte[64 * 1024];
+            checksum[0] += chunk.length;
+        }
+        System.gc();
+
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+            count(meterRegistry.find("unicorn.jfr.gc.pause").timer()) > 0
+                && meterRegistry.get("unicorn.jfr.allocation").counter().count() > 0);
+        assertThat(checksum[0]).isPositive();
+    }
+
+    @Test
+    void shouldExposeMetricsToPrometheusAndStopAroundCheckpoint() {
+        WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build()
+            .get().uri("/actuator/prometheus").exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).value(body -> assertThat(body)
+                .contains("unicorn_jfr_virtual_thread_pinned_seconds_count")
+                .contains("unicorn_jfr_allocation_bytes_total"));
+
+        assertThat(jfrEventMetrics.isRunning()).isTrue();
+        jfrEventMetrics.beforeCheckpoint(null);
+        assertThat(jfrEventMetrics.isRunning()).isFalse();
+        jfrEventMetrics.afterRestore(null);
+        assertThat(jfrEventMetrics.isRunning()).isTrue();
+    }
+
+    // Runs the action on two platform threads at once so one blocks on the other
+    private static void contend(Runnable action) throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var holder = Thread.ofPlatform().start(() -> {
+            started.countDown();
+            action.run();
+        });
+        started.await();
+        sleep(Duration.ofMillis(10));
+        var waiter = Thread.ofPlatform().start(action);
+        holder.join();
+        waiter.join();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException _) {
+            // Java 22 unnamed variable (_)
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long count(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static final class Monitor {}
+
+    private static final class SlowInitializer {
+        static {
+            sleep(HOLD);
+        }
+
+        static void touch() {}
+    }
+}
@@ -0,0 +1,191 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.OutboxRepository;
+import com.unicorn.store.data.PublisherCircuitBreaker;
+import com.unicorn.store.data.PublisherCircuitBreaker.State;
+import com.unicorn.store.data.UnicornPublisher;
+import com.unicorn.store.exceptions.PublisherException;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornEventType;
+import com.unicorn.store.service.UnicornService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.testcontainers.DockerClientFactory;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+import software.amazon.awssdk.services.eventbridge.model.ResourceAlreadyExistsException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.awaitility.Awaitility.await;
+
+// EventBridge circuit breaker: state transitions against a scripted sender, and fault injection against
+// LocalStack (the container is paused, so PutEvents calls hang until the call timeout)
+@SpringBootTest(properties = {
+    "unicorn.publisher.call-timeout=1s",
+    "unicorn.publisher.max-attempts=1",
+    "unicorn.publisher.circuit.failure-threshold=2",
+    "unicorn.publisher.circuit.open-duration=5s",
+    "unicorn.outbox.poll-interval=200ms",
+    "unicorn.outbox.retry-backoff=1s"
+})
+@TestInfrastructure
+class PublisherCircuitBreakerTest {
+
+    private static final Duration OPEN = Duration.ofSeconds(10);
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private UnicornPublisher unicornPublisher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldOpenAfterConsecutiveFailuresAndFailFast() {
+        var clock = new AtomicLong();
+        var meters = new SimpleMeterRegistry();
+        var breaker = new PublisherCircuitBreaker(3, OPEN, clock::get, meters);
+        var calls = new AtomicInteger();
+        var sender = breaker.protect(_ -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("EventBridge unavailable"));
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(sender.apply(request(2))).isCompletedExceptionally();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(sender.apply(request(2)))
+            .failsWithin(Duration.ZERO)
+            .withThrowableThat()
+            .withCauseInstanceOf(PublisherException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(meters.get("unicorn.publisher.circuit.rejected").counter().count()).isEqualTo(2);
+        assertThat(meters.get("unicorn.publisher.circuit.state").tag("state", "open").gauge().value()).isEqualTo(1);
+        assertThat(meters.get("unicorn.publisher.circuit.state").tag("state", "closed").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldOnlyCountConsecutiveFailures() {
+        var breaker = new PublisherCircuitBreaker(2, OPEN, new AtomicLong()::get, new SimpleMeterRegistry());
+        var failing = breaker.protect(_ -> CompletableFuture.failedFuture(new IllegalStateException("timeout")));
+        var succeeding = breaker.protect(_ -> CompletableFuture.completedFuture(accepted()));
+
+        failing.apply(request(1));
+        succeeding.apply(request(1));
+        failing.apply(request(1));
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void shouldTreatResponsesWithOnlyFailedEntriesAsFailures() {
+        var breaker = new PublisherCircuitBreaker(1, OPEN, new AtomicLong()::get, new SimpleMeterRegistry());
+        var rejectedEverything = PutEventsResponse.builder()
+            .failedEntryCount(1)
+            .entries(PutEventsResultEntry.builder().errorCode("InternalFailure").build())
+            .build();
+
+        breaker.protect(_ -> CompletableFuture.completedFuture(rejectedEverything)).apply(request(1));
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void shouldProbeOnceWhenHalfOpen() {
+        var clock = new AtomicLong();
+        var breaker = new PublisherCircuitBreaker(1, OPEN, clock::get, new SimpleMeterRegistry());
+        breaker.protect(_ -> CompletableFuture.failedFuture(new IllegalStateException("down"))).apply(request(1));
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.isHalfOpen()).isFalse();
+
+        // Failed probe: open again for another full period
+        clock.addAndGet(OPEN.toNanos());
+        assertThat(breaker.isOpen()).isFalse();
+        // Probe due: the relay claims only one request's worth of events
+        assertThat(breaker.isHalfOpen()).isTrue();
+        var failedProbe = new CompletableFuture<PutEventsResponse>();
+        breaker.protect(_ -> failedProbe).apply(request(1));
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.protect(_ -> CompletableFuture.completedFuture(accepted())).apply(request(1)))
+            .isCompletedExceptionally();
+        assertThat(breaker.isHalfOpen()).isTrue();
+        failedProbe.completeExceptionally(new IllegalStateException("still down"));
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.isHalfOpen()).isFalse();
+
+        // Successful probe closes the breaker
+        clock.addAndGet(OPEN.toNanos());
+        var probe = breaker.protect(_ -> CompletableFuture.completedFuture(accepted())).apply(request(1));
+        assertThat(probe).isCompleted();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.isHalfOpen()).isFalse();
+    }
+
+    @Test
+    void shouldKeepEventsInTheOutboxWhileEventBridgeHangs() {
+        // Fault injection needs LocalStack; the H2 fallback has no EventBridge endpoint
+        assumeThat(TestInfrastructureInitializer.isLocalStackRunning()).isTrue();
+        try (var eventBridge = EventBridgeClient.create()) {
+            eventBridge.createEventBus(bus -> bus.name("unicorns"));
+        } catch (ResourceAlreadyExistsException _) {
+            // Java 22 unnamed variable (_)
+        }
+        var docker = DockerClientFactory.instance().client();
+        var containerId = TestInfrastructureInitializer.localStackContainerId();
+        var breaker = unicornPublisher.getCircuitBreaker();
+
+        docker.pauseContainerCmd(containerId).exec();
+        try {
+            unicornService.createUnicorn(new Unicorn("Stranded", "4", "Small", "standard"));
+            await().atMost(Duration.ofSeconds(30)).until(() -> breaker.getState() == State.OPEN);
+
+            // Writes keep succeeding; their events wait in the outbox and publishing fails fast
+            unicornService.createUnicorn(new Unicorn("Deferred", "4", "Small", "standard"));
+            assertThat(outboxRepository.count()).isPositive();
+            assertThat(unicornPublisher.publish(UnicornEventType.UNICORN_CREATED, "id", "{}")).isCompletedExceptionally();
+            assertThat(meterRegistry.get("unicorn.publisher.circuit.rejected").counter().count()).isPositive();
+        } finally {
+            docker.unpauseContainerCmd(containerId).exec();
+        }
+
+        // Half-open probe succeeds once LocalStack answers again, then the backlog drains
+        await().atMost(Duration.ofSeconds(30))
+            .untilAsserted(() -> assertThat(outboxRepository.count()).isZero());
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    private static PutEventsRequest request(int entries) {
+        var entry = PutEventsRequestEntry.builder().detail("{}").build();
+        return PutEventsRequest.builder()
+            .entries(Collections.nCopies(entries, entry))
+            .build();
+    }
+
+    private static PutEventsResponse accepted() {
+        return PutEventsResponse.builder()
+            .failedEntryCount(0)
+            .entries(PutEventsResultEntry.builder().eventId("1").build())
+            .build();
+    }
+}
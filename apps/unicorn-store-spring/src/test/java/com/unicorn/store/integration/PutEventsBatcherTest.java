@@ -0,0 +1,204 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.PutEventsBatcher;
+import com.unicorn.store.exceptions.CircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+import software.amazon.awssdk.services.eventbridge.model.ResourceAlreadyExistsException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Tests for the micro-batching PutEvents pipeline - fake sender for batching rules, LocalStack for throughput
+@TestInfrastructure
+class PutEventsBatcherTest {
+    private static final Logger logger = LoggerFactory.getLogger(PutEventsBatcherTest.class);
+
+    @Test
+    void shouldGroupEntriesIntoBatchesOfTen() {
+        var requests = new CopyOnWriteArrayList<PutEventsRequest>();
+
+        try (var batcher = batcher(request -> {
+            requests.add(request);
+            return CompletableFuture.completedFuture(success(request));
+        })) {
+            joinAll(IntStream.range(0, 95).mapToObj(i -> batcher.submit(entry("event-" + i, 100))).toList());
+        }
+
+        assertThat(requests).allSatisfy(request -> assertThat(request.entries()).hasSizeLessThanOrEqualTo(10));
+        assertThat(requests.stream().mapToInt(request -> request.entries().size()).sum()).isEqualTo(95);
+        assertThat(requests).hasSizeLessThan(20);
+    }
+
+    @Test
+    void shouldKeepBatchesUnder256Kb() {
+        var requests = new CopyOnWriteArrayList<PutEventsRequest>();
+
+        try (var batcher = batcher(request -> {
+            requests.add(request);
+            return CompletableFuture.completedFuture(success(request));
+        })) {
+            joinAll(IntStream.range(0, 6).mapToObj(i -> batcher.submit(entry("big-" + i, 100 * 1024))).toList());
+        }
+
+        assertThat(requests).allSatisfy(request -> assertThat(request.entries()).hasSizeLessThanOrEqualTo(2));
+    }
+
+    @Test
+    void shouldRetryOnlyFailedEntries() {
+        var sentEntries = new AtomicInteger();
+        var failedOnce = ConcurrentHashMap.<String>newKeySet();
+
+        var sender = failEveryThirdEntryOnce(
+                request -> CompletableFuture.completedFuture(success(request)), failedOnce);
+
+        try (var batcher = batcher(request -> {
+            sentEntries.addAndGet(request.entries().size());
+            return sender.apply(request);
+        })) {
+            var results = joinAll(IntStream.range(0, 30).mapToObj(i -> batcher.submit(entry("event-" + i, 100))).toList());
+            assertThat(results).allSatisfy(result -> assertThat(result.errorCode()).isNull());
+        }
+
+        assertThat(failedOnce).hasSize(10);
+        assertThat(sentEntries.get()).isEqualTo(30 + 10);
+    }
+
+    @Test
+    void shouldFailEntryAfterMaxAttempts() {
+        try (var batcher = batcher(request -> CompletableFuture.completedFuture(PutEventsResponse.builder()
+                .failedEntryCount(request.entries().size())
+                .entries(request.entries().stream()
+                        .map(_ -> PutEventsResultEntry.builder().errorCode("InternalFailure").errorMessage("boom").build())
+                        .toList())
+                .build()))) {
+            assertThatThrownBy(() -> batcher.submit(entry("doomed", 100)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("InternalFailure");
+        }
+    }
+
+    @Test
+    void shouldFailCircuitBreakerRejectionsWithoutRetrying() {
+        var calls = new AtomicInteger();
+        var meters = new SimpleMeterRegistry();
+        try (var batcher = new PutEventsBatcher(request -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new CircuitOpenException("EventBridge circuit breaker is open"));
+        }, Duration.ofMillis(20), 3, Duration.ofMillis(10), 8, meters)) {
+            assertThatThrownBy(() -> batcher.submit(entry("rejected", 100)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CircuitOpenException.class);
+        }
+
+        assertThat(calls).hasValue(1);
+        assertThat(meters.get("unicorn.publish.retries").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldPublishBurstToLocalStackWithPartialFailures() {
+        assumeThat(TestInfrastructureInitializer.isLocalStackRunning()).isTrue();
+        int events = 2_000;
+
+        try (var client = EventBridgeAsyncClient.create()) {
+            try {
+                client.createEventBus(bus -> bus.name("unicorns")).join();
+            } catch (CompletionException e) {
+                assertThat(e.getCause()).isInstanceOf(ResourceAlreadyExistsException.class);
+            }
+
+            var requests = new AtomicInteger();
+            var failedOnce = ConcurrentHashMap.<String>newKeySet();
+            long start = System.nanoTime();
+            try (var batcher = batcher(failEveryThirdEntryOnce(request -> {
+                requests.incrementAndGet();
+                return client.putEvents(request);
+            }, failedOnce))) {
+                var results = joinAll(IntStream.range(0, events)
+                        .mapToObj(i -> batcher.submit(entry("burst-" + i, 512)))
+                        .toList());
+                assertThat(results).allSatisfy(result -> assertThat(result.eventId()).isNotBlank());
+            }
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            logger.info("Published {} events in {} PutEvents calls ({} retried) in {} ms - {} events/s",
+                    events, requests.get(), failedOnce.size(), elapsed.toMillis(),
+                    events * 1000L / Math.max(1, elapsed.toMillis()));
+            // One call per 10 entries plus the calls needed for the retried entries
+            assertThat(requests.get()).isLessThanOrEqualTo((events + failedOnce.size()) / 10 * 2);
+        }
+    }
+
+    private static PutEventsBatcher batcher(Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> sender) {
+        return new PutEventsBatcher(sender, Duration.ofMillis(20), 3, Duration.ofMillis(10), 8,
+                new SimpleMeterRegistry());
+    }
+
+    // Wraps a sender so that every third distinct entry is reported as failed on its first attempt
+    private static Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> failEveryThirdEntryOnce(
+            Function<PutEventsRequest, CompletableFuture<PutEventsResponse>> delegate, Set<String> failedOnce) {
+        return request -> {
+            var toFail = request.entries().stream()
+                    .filter(entry -> Integer.parseInt(entry.detailType().replaceAll("\\D", "")) % 3 == 0)
+                    .filter(entry -> failedOnce.add(entry.detailType()))
+                    .toList();
+            var toSend = request.entries().stream().filter(entry -> !toFail.contains(entry)).toList();
+            var sent = toSend.isEmpty()
+                    ? CompletableFuture.completedFuture(PutEventsResponse.builder().entries(List.of()).build())
+                    : delegate.apply(request.toBuilder().entries(toSend).build());
+            return sent.thenApply(response -> {
+                var results = response.entries().iterator();
+                return PutEventsResponse.builder()
+                        .failedEntryCount(toFail.size() + response.failedEntryCount())
+                        .entries(request.entries().stream()
+                                .map(entry -> toFail.contains(entry)
+                                        ? PutEventsResultEntry.builder().errorCode("ThrottlingException")
+                                                .errorMessage("injected").build()
+                                        : results.next())
+                                .toList())
+                        .build();
+            });
+        };
+    }
+
+    private static PutEventsResponse success(PutEventsRequest request) {
+        return PutEventsResponse.builder()
+                .failedEntryCount(0)
+                .entries(request.entries().stream()
+                        .map(_ -> PutEventsResultEntry.builder().eventId(java.util.UUID.randomUUID().toString()).build())
+                        .toList())
+                .build();
+    }
+
+    private static PutEventsRequestEntry entry(String name, int detailBytes) {
+        return PutEventsRequestEntry.builder()
+                .source("com.unicorn.store")
+                .eventBusName("unicorns")
+                .detailType(name)
+                .detail("{\"padding\":\"" + "x".repeat(detailBytes) + "\"}")
+                .build();
+    }
+
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
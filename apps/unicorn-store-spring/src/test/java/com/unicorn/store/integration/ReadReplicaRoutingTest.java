@@ -0,0 +1,156 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.context.RequestContext;
+import com.unicorn.store.context.WriteTracker;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.service.UnicornService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Read replica routing against a real PostgreSQL streaming replication pair: the replica is cloned from the
+// primary with pg_basebackup and follows it as a hot standby, so reads there lag behind writes like on Aurora.
+// pg_is_in_recovery() tells which of the two served a transaction. Needs Docker (no H2 fallback).
+@SpringBootTest(properties = {
+    "unicorn.datasource.read-your-writes=5s",
+    "unicorn.outbox.poll-interval=1h",
+    "unicorn.outbox.metrics-interval=1h"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInfrastructure
+class ReadReplicaRoutingTest {
+
+    private static final DockerImageName POSTGRES = DockerImageName.parse("postgres:16-alpine");
+    private static final Network NETWORK = Network.newNetwork();
+
+    // Replication role and pg_hba entry, created by the image's init hook before the primary accepts connections
+    private static final String REPLICATION_SETUP = """
+        psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -d "$POSTGRES_DB" -c "CREATE ROLE replicator REPLICATION LOGIN PASSWORD 'replicator'"
+        echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+        """;
+
+    // Clones the primary (-R writes the standby configuration) and runs it as a hot standby
+    private static final String REPLICA_STARTUP = """
+        until pg_basebackup -h primary -U replicator -D /var/lib/postgresql/replica -R -X stream; do sleep 1; done
+        chown -R postgres:postgres /var/lib/postgresql/replica
+        chmod 700 /var/lib/postgresql/replica
+        exec su-exec postgres postgres -D /var/lib/postgresql/replica
+        """;
+
+    @Container
+    private static final PostgreSQLContainer primary = new PostgreSQLContainer(POSTGRES)
+            .withDatabaseName("unicornstore")
+            .withUsername("unicorn")
+            .withPassword("unicorn")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(REPLICATION_SETUP), "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    @SuppressWarnings("resource")
+    private static final GenericContainer<?> replica = new GenericContainer<>(POSTGRES)
+            .dependsOn(primary)
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", "replicator")
+            .withExposedPorts(5432)
+            .withCommand("sh", "-c", REPLICA_STARTUP)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("unicorn.datasource.reader.url", () -> "jdbc:postgresql://%s:%d/unicornstore"
+                .formatted(replica.getHost(), replica.getMappedPort(5432)));
+    }
+
+    @AfterAll
+    static void closeNetwork() {
+        NETWORK.close();
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplicaAndWritesToThePrimary() {
+        assertThat(servedByReplica(true)).isTrue();
+        assertThat(servedByReplica(false)).isFalse();
+    }
+
+    @Test
+    void shouldServeUnicornReadsFromTheReplicaOnceReplicated() {
+        var created = unicornService.createUnicorn(new Unicorn("Replicated", "5", "Small", "replica"));
+        double readerConnections = routed("reader", "read");
+
+        // The replica catches up asynchronously
+        await().atMost(Duration.ofSeconds(10)).until(() -> unicornService.getAllUnicorns(null, 1000).stream()
+            .anyMatch(unicorn -> unicorn.getId().equals(created.getId())));
+
+        assertThat(routed("reader", "read")).isGreaterThan(readerConnections);
+    }
+
+    @Test
+    void shouldReadOwnWritesFromThePrimaryWithinTheWindow() {
+        ScopedValue.where(RequestContext.WRITES, new WriteTracker()).run(() -> {
+            assertThat(servedByReplica(true)).isTrue();
+
+            var created = unicornService.createUnicorn(new Unicorn("Own write", "5", "Small", "replica"));
+            double pinnedReads = routed("writer", "read_your_writes");
+
+            assertThat(servedByReplica(true)).isFalse();
+            assertThat(unicornService.getAllUnicorns(null, 1000))
+                .anyMatch(unicorn -> unicorn.getId().equals(created.getId()));
+            assertThat(routed("writer", "read_your_writes")).isGreaterThan(pinnedReads);
+        });
+
+        // Another request context has not written anything
+        ScopedValue.where(RequestContext.WRITES, new WriteTracker())
+            .run(() -> assertThat(servedByReplica(true)).isTrue());
+    }
+
+    private boolean servedByReplica(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transactionTemplate.execute(_ ->
+            jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("unicorn.datasource.routing").tag("target", target).tag("reason", reason)
+            .counter().count();
+    }
+}
@@ -17,6 +17,21 @@ public class TestInfrastructureInitializer implements BeforeAllCallback {
     private static PostgreSQLContainer postgres;
     private static LocalStackContainer localstack;
 
+    // True when tests run against PostgreSQL (not the H2 fallback), e.g. for query plan assertions
+    public static boolean isPostgresRunning() {
+        return postgres != null && postgres.isRunning();
+    }
+
+    // True when EventBridge calls reach a real LocalStack container (not the H2 fallback)
+    public static boolean isLocalStackRunning() {
+        return localstack != null && localstack.isRunning();
+    }
+
+    // For fault injection (pausing the container); only valid while isLocalStackRunning()
+    public static String localStackContainerId() {
+        return localstack.getContainerId();
+    }
+
     @Override
     public void beforeAll(final ExtensionContext context) {
         logger.info("Checking Docker availability...");
@@ -49,6 +64,11 @@ public class TestInfrastructureInitializer implements BeforeAllCallback {
                 System.setProperty("spring.datasource.username", postgres.getUsername());
                 System.setProperty("spring.datasource.password", postgres.getPassword());
                 System.setProperty("spring.datasource.driver-class-name", "org.postgresql.Driver");
+                // Same database for the reactive profile (ReactiveStoreApplication)
+                System.setProperty("spring.r2dbc.url", "r2dbc:postgresql://%s:%d/%s".formatted(
+                        postgres.getHost(), postgres.getMappedPort(5432), postgres.getDatabaseName()));
+                System.setProperty("spring.r2dbc.username", postgres.getUsername());
+                System.setProperty("spring.r2dbc.password", postgres.getPassword());
 
                 // Let Hibernate create schema (matches Aurora production behavior)
                 System.setProperty("spring.sql.init.mode", "never");
@@ -88,6 +108,12 @@ public class TestInfrastructureInitializer implements BeforeAllCallback {
         System.setProperty("spring.datasource.username", "sa");
         System.setProperty("spring.datasource.password", "password");
         System.setProperty("spring.datasource.driver-class-name", "org.h2.Driver");
+        // Same in-memory database for the reactive profile (r2dbc-h2 opens jdbc:h2:mem:testdb)
+        System.setProperty("spring.r2dbc.url", "r2dbc:h2:mem:///testdb?options=MODE=PostgreSQL");
+        System.setProperty("spring.r2dbc.username", "sa");
+        System.setProperty("spring.r2dbc.password", "password");
+        // H2 does not understand every PostgreSQL lock clause (e.g. FOR NO KEY UPDATE SKIP LOCKED)
+        System.setProperty("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
 
         // Let Hibernate create schema
         System.setProperty("spring.sql.init.mode", "never");
@@ -0,0 +1,146 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.monitoring.ThreadMonitoringMBean;
+import com.unicorn.store.service.ThreadGeneratorService;
+import com.unicorn.store.service.ThreadGeneratorService.ScenarioSpec;
+import com.unicorn.store.service.ThreadScenario;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Workload generator scenarios: every scenario on both thread types, rate and duration controls,
+// per-scenario meters and MBean attributes, and the /api/threads endpoints
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "unicorn.threads.hold-time=300ms",
+    "unicorn.datasource.admission.max-wait=100ms",
+    // Keep the outbox relay from taking the only connection during the test
+    "unicorn.outbox.poll-interval=1h",
+    "unicorn.outbox.metrics-interval=1h"
+})
+@TestInfrastructure
+class ThreadGeneratorServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ThreadGeneratorService threadGeneratorService;
+
+    @Autowired
+    private ThreadMonitoringMBean threadMonitoringMBean;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void stopRemainingThreads() {
+        if (threadGeneratorService.getActiveThreadCount() > 0) {
+            threadGeneratorService.stopThreads();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreadScenario.class)
+    void shouldRunEveryScenarioOnVirtualAndPlatformThreads(ThreadScenario scenario) {
+        for (boolean virtual : new boolean[] {true, false}) {
+            var threadType = virtual ? "virtual" : "platform";
+            long before = operations(scenario, threadType);
+
+            threadGeneratorService.start(new ScenarioSpec(scenario, 4, virtual, 0, null));
+            assertThat(threadGeneratorService.getActiveThreadCount()).isEqualTo(4);
+            assertThat(meterRegistry.get("unicorn.threads.active").tag("scenario", scenario.key()).gauge().value())
+                .isEqualTo(4);
+            await().atMost(Duration.ofSeconds(10)).until(() -> operations(scenario, threadType) > before);
+            threadGeneratorService.stopThreads();
+
+            assertThat(threadGeneratorService.getActiveThreadCount()).isZero();
+            assertThat(threadMonitoringMBean.getScenario()).isEqualTo(scenario.key());
+            assertThat(threadMonitoringMBean.getThreadType()).isEqualTo(threadType);
+            assertThat(threadMonitoringMBean.getOperations()).isPositive();
+            assertThat(threadMonitoringMBean.totalOperations(scenario.key())).isGreaterThan(before);
+        }
+    }
+
+    @Test
+    void shouldPaceOperationsToTheTargetRate() {
+        threadGeneratorService.start(new ScenarioSpec(ThreadScenario.CPU, 4, true, 100, Duration.ofSeconds(2)));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> threadGeneratorService.getActiveThreadCount() == 0);
+
+        // 100 ops/s for 2 s, with some slack for scheduling
+        assertThat(threadGeneratorService.getStatus().operations()).isBetween(150L, 250L);
+    }
+
+    @Test
+    void shouldStopByItselfAfterTheDuration() {
+        threadGeneratorService.start(new ScenarioSpec(ThreadScenario.BLOCKING_IO, 2, true, 0,
+            Duration.ofMillis(500)));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> threadGeneratorService.getActiveThreadCount() == 0);
+
+        assertThatThrownBy(threadGeneratorService::stopThreads).isInstanceOf(IllegalStateException.class);
+        assertThat(threadGeneratorService.getStatus().elapsed()).isLessThan(Duration.ofSeconds(2));
+        // A finished run does not block the next one
+        threadGeneratorService.start(new ScenarioSpec(ThreadScenario.CPU, 1, true, 10, null));
+    }
+
+    @Test
+    void shouldReportRejectedConnectionsWhenThePoolIsExhausted() {
+        // Four threads holding the single connection for 300 ms each, admission waits at most 100 ms
+        threadGeneratorService.start(new ScenarioSpec(ThreadScenario.DB_POOL, 4, true, 0, null));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> threadGeneratorService.getStatus().failures() > 0);
+        threadGeneratorService.stopThreads();
+
+        assertThat(threadMonitoringMBean.totalFailures("db-pool")).isPositive();
+    }
+
+    @Test
+    void shouldStartScenariosOverHttp() {
+        var webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+
+        // Paced: unthrottled CPU-bound virtual threads can occupy every carrier thread, request handling included
+        webTestClient.post()
+            .uri("/api/threads/start?count=3&scenario=lock-contention&threadType=virtual&rate=30&duration=30s")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).isEqualTo("Successfully started 3 virtual threads running lock-contention");
+        webTestClient.get().uri("/api/threads/count").exchange()
+            .expectStatus().isOk()
+            .expectBody(Integer.class).isEqualTo(3);
+        webTestClient.get().uri("/api/threads/status").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.scenario").isEqualTo("lock-contention")
+            .jsonPath("$.threadType").isEqualTo("virtual");
+        webTestClient.post().uri("/api/threads/start?count=1&threadType=VIRTUAL").exchange()
+            .expectStatus().isBadRequest()
+            .expectBody(String.class).isEqualTo("Unable to start threads. Threads are already running");
+        webTestClient.post().uri("/api/threads/stop").exchange().expectStatus().isOk();
+
+        webTestClient.post().uri("/api/threads/start?scenario=deadlock").exchange()
+            .expectStatus().isBadRequest();
+        webTestClient.post().uri("/api/threads/start?threadType=green").exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    private long operations(ThreadScenario scenario, String threadType) {
+        var timer = meterRegistry.find("unicorn.threads.operation")
+            .tag("scenario", scenario.key())
+            .tag("thread.type", threadType)
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
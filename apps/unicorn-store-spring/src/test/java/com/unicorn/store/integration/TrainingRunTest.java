@@ -0,0 +1,62 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.training.TrainingWorkload;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+import java.net.URI;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Training profile (StoreApplication --training): the workload runs against the real endpoints and the
+// application answers EventBridge PutEvents itself. The test infrastructure's database replaces H2.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    // TrainingRun drives a short workload during startup
+    "unicorn.training.iterations=2"
+})
+@ActiveProfiles("training")
+@TestInfrastructure
+class TrainingRunTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldRunWorkloadAgainstAllEndpoints() {
+        var requests = new TrainingWorkload(URI.create("http://localhost:" + port)).run(11);
+
+        // 7 requests per round, 5 more in rounds 0 and 10
+        assertThat(requests).isEqualTo(11 * 7 + 2 * 5);
+    }
+
+    @Test
+    void shouldAcceptPutEventsFromTheAwsSdk() {
+        try (var client = EventBridgeAsyncClient.builder()
+                .endpointOverride(URI.create("http://127.0.0.1:" + port))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("training", "training")))
+                .build()) {
+            var entries = IntStream.range(0, 3)
+                .mapToObj(i -> PutEventsRequestEntry.builder()
+                    .source("com.unicorn.store")
+                    .eventBusName("unicorns")
+                    .detailType("UNICORN_CREATED")
+                    .detail("{\"id\":\"" + i + "\"}")
+                    .build())
+                .toList();
+
+            var response = client.putEvents(request -> request.entries(entries)).join();
+
+            assertThat(response.failedEntryCount()).isZero();
+            assertThat(response.entries()).hasSize(3).allSatisfy(entry -> assertThat(entry.eventId()).isNotBlank());
+        }
+    }
+}
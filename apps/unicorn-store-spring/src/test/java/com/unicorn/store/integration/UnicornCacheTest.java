@@ -0,0 +1,60 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.config.CacheConfig;
+import com.unicorn.store.exceptions.ResourceNotFoundException;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.service.UnicornService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Integration tests for the read-through unicorn cache and its Micrometer counters
+@SpringBootTest
+@TestInfrastructure
+class UnicornCacheTest {
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeReadsFromCacheAndInvalidateOnDelete() {
+        var created = unicornService.createUnicorn(new Unicorn("Cached", "7", "Small", "standard"));
+        var cache = cacheManager.getCache(CacheConfig.UNICORNS_CACHE);
+        assertThat(cache.get(created.getId(), Unicorn.class)).isNotNull();
+
+        var hitsBefore = cacheGets("hit");
+        assertThat(unicornService.getUnicorn(created.getId()).getName()).isEqualTo("Cached");
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+
+        unicornService.deleteUnicorn(created.getId(), null);
+        assertThat(cache.get(created.getId())).isNull();
+        assertThatThrownBy(() -> unicornService.getUnicorn(created.getId()))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldRefreshCacheOnUpdate() {
+        var created = unicornService.createUnicorn(new Unicorn("Before", "7", "Small", "standard"));
+        unicornService.updateUnicorn(new Unicorn("After", "8", "Small", "standard"), created.getId(), null);
+
+        assertThat(unicornService.getUnicorn(created.getId()).getName()).isEqualTo("After");
+    }
+
+    private double cacheGets(String result) {
+        var counter = meterRegistry.find("cache.gets")
+            .tags("cache", CacheConfig.UNICORNS_CACHE, "result", result)
+            .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -1,14 +1,32 @@
 package com.unicorn.store.integration;
 
+import com.unicorn.store.config.CacheConfig;
+import com.unicorn.store.model.ImportReport;
 import com.unicorn.store.model.Unicorn;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @TestInfrastructure
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class UnicornControllerTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornControllerTest.class);
 
     @LocalServerPort
     private int port;
@@ -149,4 +168,365 @@ class UnicornControllerTest {
             .expectBodyList(Unicorn.class)
             .hasSize(1);
     }
+
+    @Test
+    @Order(10)
+    void shouldPageUnicornsWithCursor() {
+        Unicorn unicorn = new Unicorn("Unicorn3", "12", "Small", "standard");
+        webTestClient.post()
+            .uri("/unicorns")
+            .bodyValue(unicorn)
+            .exchange()
+            .expectStatus().isCreated();
+
+        var firstPage = webTestClient.get()
+            .uri("/unicorns?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists("Link")
+            .expectBodyList(Unicorn.class)
+            .hasSize(1)
+            .returnResult()
+            .getResponseBody();
+
+        webTestClient.get()
+            .uri("/unicorns?limit=1&after=" + firstPage.getFirst().getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Unicorn.class)
+            .hasSize(1)
+            .value(page -> assertThat(page.getFirst().getId())
+                .isGreaterThan(firstPage.getFirst().getId()));
+    }
+
+    static final int STREAM_ROWS = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs under the small surefire heap (-Xmx256m): materializing 100k entities through the
+    // persistence context would not fit, streaming keeps memory flat
+    @Test
+    @Order(11)
+    void shouldStreamAllUnicornsAsNdjson() {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class);
+        var rows = IntStream.range(0, STREAM_ROWS)
+            .mapToObj(i -> new Object[] {UUID.randomUUID().toString(), "Bulk" + i, "5", "Small", "standard", 0L})
+            .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO unicorns (id, name, age, size, type, version) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        var lines = webTestClient.mutate()
+            .responseTimeout(Duration.ofMinutes(2))
+            .build()
+            .get()
+            .uri("/unicorns")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(DataBuffer.class)
+            .getResponseBody()
+            .map(buffer -> {
+                long newlines = 0;
+                for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+                    if (buffer.getByte(i) == '\n') {
+                        newlines++;
+                    }
+                }
+                DataBufferUtils.release(buffer);
+                return newlines;
+            })
+            .reduce(0L, Long::sum)
+            .block(Duration.ofMinutes(2));
+
+        assertThat(lines).isEqualTo(existing + STREAM_ROWS);
+    }
+
+    static final int BATCH_ROWS = 250;
+
+    @Test
+    @Order(12)
+    void shouldPostUnicornBatch() {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class);
+        var unicorns = IntStream.range(0, BATCH_ROWS)
+            .mapToObj(i -> new Unicorn("Batch" + i, "3", "Small", "standard"))
+            .toList();
+
+        webTestClient.post()
+            .uri("/unicorns/batch")
+            .bodyValue(unicorns)
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBodyList(Unicorn.class)
+            .hasSize(BATCH_ROWS)
+            .value(created -> assertThat(created).allSatisfy(unicorn -> assertThat(unicorn.getId()).isNotBlank()));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class))
+            .isEqualTo(existing + BATCH_ROWS);
+    }
+
+    @Test
+    @Order(13)
+    void shouldRejectUnicornBatchWithExistingId() {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class);
+        var fresh = new Unicorn("Fresh", "3", "Small", "standard");
+        var duplicate = new Unicorn("Duplicate", "3", "Small", "standard").withId(id1);
+
+        webTestClient.post()
+            .uri("/unicorns/batch")
+            .bodyValue(List.of(fresh, duplicate))
+            .exchange()
+            .expectStatus().isEqualTo(409);
+
+        // The whole batch is rolled back
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class)).isEqualTo(existing);
+    }
+
+    @Test
+    @Order(14)
+    void shouldRejectEmptyUnicornBatch() {
+        webTestClient.post()
+            .uri("/unicorns/batch")
+            .bodyValue(List.of())
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    static final int IMPORT_ROWS = 50_000;
+
+    // The body is generated lazily and streamed, so neither side ever holds the whole upload
+    @Test
+    @Order(15)
+    void shouldImportUnicornsFromNdjson() {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class);
+        var body = Flux.range(0, IMPORT_ROWS + 1)
+            .map(i -> switch (i) {
+                case Integer n when n == IMPORT_ROWS -> "{\"id\":\"" + id1 + "\",\"name\":\"Dup\",\"type\":\"standard\"}\n";
+                case Integer n when n % 10_000 == 5 -> "{not json\n";
+                case Integer n when n % 10_000 == 7 -> "{\"age\":\"3\",\"type\":\"standard\"}\n";
+                default -> "{\"name\":\"Imported" + i + "\",\"age\":\"3\",\"size\":\"Small\",\"type\":\"standard\"}\n";
+            })
+            .map(line -> DefaultDataBufferFactory.sharedInstance.wrap(line.getBytes(StandardCharsets.UTF_8)));
+
+        var report = webTestClient.mutate()
+            .responseTimeout(Duration.ofMinutes(2))
+            .build()
+            .post()
+            .uri("/unicorns/import")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body, DataBuffer.class)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(ImportReport.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(report.imported()).isEqualTo(IMPORT_ROWS - 10);
+        assertThat(report.failed()).isEqualTo(11);
+        assertThat(report.errors()).extracting(ImportReport.LineError::line)
+            .contains(6L, 8L, (long) IMPORT_ROWS + 1);
+        assertThat(report.errors()).filteredOn(error -> error.line() == 8L)
+            .singleElement()
+            .satisfies(error -> assertThat(error.message()).contains("name"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM unicorns", Long.class))
+            .isEqualTo(existing + IMPORT_ROWS - 10);
+    }
+
+    // A rejected chunk is retried line by line; explicit-ID lines must not fail just because the
+    // rolled-back chunk insert already assigned them a version
+    @Test
+    @Order(15)
+    void shouldImportExplicitIdLineFromRejectedChunk() {
+        var explicitId = UUID.randomUUID().toString();
+        var body = "{\"id\":\"" + explicitId + "\",\"name\":\"Explicit\",\"type\":\"standard\"}\n"
+            + "{\"id\":\"" + id1 + "\",\"name\":\"Dup\",\"type\":\"standard\"}\n"
+            + "{\"name\":\"Generated\",\"type\":\"standard\"}\n";
+
+        var report = webTestClient.post()
+            .uri("/unicorns/import")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(ImportReport.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors()).extracting(ImportReport.LineError::line).containsExactly(2L);
+        webTestClient.get()
+            .uri("/unicorns/" + explicitId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.name").isEqualTo("Explicit");
+    }
+
+    @Test
+    @Order(16)
+    void shouldUpdateOnlyWhenIfMatchIsCurrent() {
+        var etag = webTestClient.get()
+            .uri("/unicorns/" + id1)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists("ETag")
+            .returnResult(Unicorn.class)
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient.put()
+            .uri("/unicorns/" + id1)
+            .header("If-Match", etag)
+            .bodyValue(new Unicorn("Unicorn12", "11", "Big", "standard"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value("ETag", newEtag -> assertThat(newEtag).isNotEqualTo(etag));
+
+        // A second writer still holding the old ETag must not overwrite the change
+        webTestClient.put()
+            .uri("/unicorns/" + id1)
+            .header("If-Match", etag)
+            .bodyValue(new Unicorn("LostUpdate", "11", "Big", "standard"))
+            .exchange()
+            .expectStatus().isEqualTo(412);
+
+        webTestClient.get()
+            .uri("/unicorns/" + id1)
+            .exchange()
+            .expectBody(Unicorn.class)
+            .value(u -> assertThat(u.getName()).isEqualTo("Unicorn12"));
+    }
+
+    @Test
+    @Order(17)
+    void shouldDeleteOnlyWhenIfMatchIsCurrent() {
+        var created = webTestClient.post()
+            .uri("/unicorns")
+            .bodyValue(new Unicorn("Versioned", "1", "Small", "standard"))
+            .exchange()
+            .expectStatus().isCreated()
+            .returnResult(Unicorn.class);
+        var id = created.getResponseBody().blockFirst().getId();
+        var etag = created.getResponseHeaders().getETag();
+
+        webTestClient.delete()
+            .uri("/unicorns/" + id)
+            .header("If-Match", "\"999\"")
+            .exchange()
+            .expectStatus().isEqualTo(412);
+
+        webTestClient.delete()
+            .uri("/unicorns/" + id)
+            .header("If-Match", etag)
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient.delete()
+            .uri("/unicorns/" + id)
+            .header("If-Match", etag)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    static final int POLLS = 200;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Revalidating an unchanged unicorn returns 304 with no body, served from the cache (no DB query)
+    @Test
+    @Order(18)
+    void shouldAnswerUnchangedUnicornWith304() {
+        var etag = webTestClient.get()
+            .uri("/unicorns/" + id1)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(Unicorn.class)
+            .getResponseHeaders()
+            .getETag();
+
+        var cacheHitsBefore = cacheHits();
+        var full = poll("/unicorns/" + id1, null, 200);
+        var conditional = poll("/unicorns/" + id1, etag, 304);
+        report("GET /unicorns/{id}", full, conditional);
+
+        assertThat(conditional.bytes()).isZero();
+        assertThat(full.bytes()).isPositive();
+        assertThat(cacheHits() - cacheHitsBefore).isGreaterThanOrEqualTo(2 * POLLS);
+    }
+
+    @Test
+    @Order(19)
+    void shouldAnswerUnchangedPageWith304() {
+        var etag = webTestClient.get()
+            .uri("/unicorns?limit=100")
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(Unicorn.class)
+            .getResponseHeaders()
+            .getETag();
+        assertThat(etag).isNotBlank();
+
+        var full = poll("/unicorns?limit=100", null, 200);
+        var conditional = poll("/unicorns?limit=100", etag, 304);
+        report("GET /unicorns?limit=100", full, conditional);
+
+        assertThat(conditional.bytes()).isZero();
+        assertThat(full.bytes()).isPositive();
+
+        // Any change to a row on the page changes the page ETag
+        var first = webTestClient.get()
+            .uri("/unicorns?limit=1")
+            .exchange()
+            .expectBodyList(Unicorn.class)
+            .returnResult()
+            .getResponseBody()
+            .getFirst();
+        webTestClient.put()
+            .uri("/unicorns/" + first.getId())
+            .bodyValue(new Unicorn("Changed", "1", "Small", "standard"))
+            .exchange()
+            .expectStatus().isOk();
+        webTestClient.get()
+            .uri("/unicorns?limit=100")
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    record PollResult(long bytes, long nanos) {}
+
+    private PollResult poll(String uri, String ifNoneMatch, int expectedStatus) {
+        long bytes = 0;
+        long nanos = 0;
+        for (int i = 0; i < POLLS; i++) {
+            long start = System.nanoTime();
+            var request = webTestClient.get().uri(uri);
+            if (ifNoneMatch != null) {
+                request = request.ifNoneMatch(ifNoneMatch);
+            }
+            var body = request.exchange()
+                .expectStatus().isEqualTo(expectedStatus)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+            nanos += System.nanoTime() - start;
+            bytes += body == null ? 0 : body.length;
+        }
+        return new PollResult(bytes, nanos);
+    }
+
+    private static void report(String endpoint, PollResult full, PollResult conditional) {
+        logger.info("{}: {} polls - full {} bytes / {} us avg, 304 {} bytes / {} us avg, {} bytes saved",
+            endpoint, POLLS, full.bytes(), full.nanos() / POLLS / 1_000,
+            conditional.bytes(), conditional.nanos() / POLLS / 1_000, full.bytes() - conditional.bytes());
+    }
+
+    private double cacheHits() {
+        var counter = meterRegistry.find("cache.gets")
+            .tags("cache", CacheConfig.UNICORNS_CACHE, "result", "hit")
+            .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
 }
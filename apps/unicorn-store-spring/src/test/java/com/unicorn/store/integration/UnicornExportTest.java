@@ -0,0 +1,105 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.service.UnicornService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// GET /unicorns/export: PostgreSQL COPY streamed to the client as CSV or binary (501 on the H2 fallback)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInfrastructure
+class UnicornExportTest {
+
+    // PostgreSQL binary COPY signature: "PGCOPY\n\377\r\n\0"
+    private static final byte[] PGCOPY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UnicornService unicornService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+    }
+
+    @Test
+    void shouldExportAllUnicornsAsCsv() {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isTrue();
+        var created = unicornService.createUnicorns(IntStream.range(0, 50)
+            .mapToObj(i -> new Unicorn("Exported, \"" + i + "\"", "5", "Small", "standard"))
+            .toList());
+
+        var csv = webTestClient.get()
+            .uri("/unicorns/export")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith("text/csv")
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"unicorns.csv\"")
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines.getFirst()).isEqualTo("id,name,age,size,type,version");
+        // Quoting and escaping are done by PostgreSQL
+        assertThat(lines).anyMatch(line ->
+            line.startsWith(created.getFirst().getId() + ",\"Exported, \"\"0\"\"\",5,Small,standard,"));
+        assertThat(lines).hasSizeGreaterThanOrEqualTo(created.size() + 1);
+    }
+
+    @Test
+    void shouldExportAllUnicornsInBinaryCopyFormat() {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isTrue();
+        unicornService.createUnicorn(new Unicorn("Binary", "5", "Small", "standard"));
+
+        var body = webTestClient.get()
+            .uri("/unicorns/export?format=binary")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith("application/octet-stream")
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(Arrays.copyOf(body, PGCOPY_SIGNATURE.length)).isEqualTo(PGCOPY_SIGNATURE);
+        assertThat(new String(body, StandardCharsets.UTF_8)).contains("Binary");
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        webTestClient.get()
+            .uri("/unicorns/export?format=xml")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldAnswerNotImplementedWithoutPostgres() {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isFalse();
+
+        webTestClient.get()
+            .uri("/unicorns/export")
+            .exchange()
+            .expectStatus().isEqualTo(501)
+            .expectHeader().doesNotExist(HttpHeaders.CONTENT_DISPOSITION);
+    }
+}
@@ -0,0 +1,215 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.UnicornRepository;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornFilter;
+import com.unicorn.store.model.UnicornView;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Attribute filters and field projections on GET /unicorns. The schema comes from schema.sql
+// (indexes included) rather than Hibernate DDL, so the plan tests see the production indexes.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.sql.init.mode=always",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.unicorn.store.integration.UnicornFilterTest$CapturingStatementInspector"
+})
+@TestInfrastructure
+class UnicornFilterTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornFilterTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UnicornRepository unicornRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient webTestClient;
+
+    // Unique per test so rows left behind by other tests never match
+    private String type;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + port)
+            .build();
+        type = "filter-" + UUID.randomUUID();
+    }
+
+    @Test
+    void shouldFilterByTypeSizeAndAgeRange() {
+        create(new Unicorn("Young", "3", "Small", type),
+            new Unicorn("Teen", "7", "Big", type),
+            new Unicorn("Adult", "12", "Big", type),
+            new Unicorn("Ancient", "very old", "Big", type),
+            new Unicorn("Other", "7", "Big", type + "-other"));
+
+        assertThat(names("/unicorns?type={type}&minAge=5&maxAge=12", type)).containsExactlyInAnyOrder("Teen", "Adult");
+        assertThat(names("/unicorns?type={type}&size=Big", type)).containsExactlyInAnyOrder("Teen", "Adult", "Ancient");
+        assertThat(names("/unicorns?type={type}&size=Big&maxAge=10", type)).containsExactly("Teen");
+        // Ages that are not whole years never match a range
+        assertThat(names("/unicorns?type={type}&minAge=0", type)).containsExactlyInAnyOrder("Young", "Teen", "Adult");
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedFields() {
+        create(new Unicorn("Projected", "4", "Small", type));
+
+        webTestClient.get()
+            .uri("/unicorns?type={type}&fields=name", type)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists(HttpHeaders.ETAG)
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].id").exists()
+            .jsonPath("$[0].version").isEqualTo(0)
+            .jsonPath("$[0].name").isEqualTo("Projected")
+            .jsonPath("$[0].age").doesNotExist()
+            .jsonPath("$[0].size").doesNotExist()
+            .jsonPath("$[0].type").doesNotExist();
+    }
+
+    @Test
+    void shouldCarryFiltersIntoNextPageLink() {
+        create(new Unicorn("First", "5", "Small", type), new Unicorn("Second", "6", "Small", type));
+
+        webTestClient.get()
+            .uri("/unicorns?type={type}&minAge=1&fields=name,age&limit=1", type)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(HttpHeaders.LINK, link -> assertThat(link)
+                .contains("type=" + type, "minAge=1", "fields=name,age", "limit=1", "after="));
+    }
+
+    @Test
+    void shouldFindUnicornByNewAgeAfterUpdate() {
+        var id = create(new Unicorn("Growing", "2", "Small", type)).getFirst().getId();
+
+        webTestClient.put()
+            .uri("/unicorns/{id}", id)
+            .bodyValue(new Unicorn("Growing", "20", "Small", type))
+            .exchange()
+            .expectStatus().isOk();
+
+        assertThat(names("/unicorns?type={type}&minAge=20", type)).containsExactly("Growing");
+        assertThat(names("/unicorns?type={type}&maxAge=2", type)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidFilters() {
+        webTestClient.get().uri("/unicorns?minAge=10&maxAge=5").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/unicorns?minAge=-1").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/unicorns?minAge=ten").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/unicorns?fields=name,color").exchange().expectStatus().isBadRequest();
+    }
+
+    static final int PLAN_ROWS = 20_000;
+
+    // Seeds enough rows for the planner to prefer the composite indexes, then EXPLAINs the exact SQL
+    // Hibernate generated for each filter combination. PostgreSQL only: H2 plans say nothing about production.
+    // The composite indexes return (age_years, id) order, so every filtered page has a Sort on id above the
+    // index scan; only the unfiltered keyset page is read in order from the primary key without one.
+    @Test
+    void shouldServeFilterCombinationsFromIndexes() {
+        assumeThat(TestInfrastructureInitializer.isPostgresRunning()).isTrue();
+        var rows = IntStream.range(0, PLAN_ROWS)
+            .mapToObj(i -> new Object[] {UUID.randomUUID().toString(), "Plan" + i, String.valueOf(i % 1000),
+                List.of("Small", "Medium", "Big", "Huge", "Tiny").get(i % 5), type + "-" + (i % 20), 0L, i % 1000})
+            .toList();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO unicorns (id, name, age, size, type, version, age_years) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE unicorns");
+
+        assertThat(plan(new UnicornFilter(type + "-3", "Huge", 100, 199), Set.of("name")))
+            .contains("unicorns_type_size_age_idx", "Sort Key")
+            .doesNotContain("Seq Scan");
+        assertThat(plan(new UnicornFilter(null, "Big", 100, 101), Set.of("name", "type")))
+            .contains("unicorns_size_age_idx", "Sort Key")
+            .doesNotContain("Seq Scan");
+        assertThat(plan(new UnicornFilter(null, null, 100, 101), UnicornView.OPTIONAL_FIELDS))
+            .contains("unicorns_age_idx", "Sort Key")
+            .doesNotContain("Seq Scan");
+        assertThat(plan(new UnicornFilter(null, null, null, null), UnicornView.OPTIONAL_FIELDS))
+            .contains("unicorns_pkey")
+            .doesNotContain("Sort", "Seq Scan");
+    }
+
+    private String plan(UnicornFilter filter, Set<String> fields) {
+        CapturingStatementInspector.lastSelect = null;
+        unicornRepository.findPage(filter, fields, null, 100);
+        var sql = CapturingStatementInspector.lastSelect;
+        assertThat(sql).as("captured SQL").isNotNull();
+
+        // Bind values in the order Hibernate renders them: type, size, min, max, then the row limit
+        var args = new ArrayList<Object>();
+        Stream.of(filter.type(), filter.size(), filter.minAge(), filter.maxAge())
+            .filter(Objects::nonNull)
+            .forEach(args::add);
+        if (sql.chars().filter(c -> c == '?').count() > args.size()) {
+            args.add(100);
+        }
+        var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args.toArray()));
+        logger.info("Plan for {}:\n{}", filter, plan);
+        return plan;
+    }
+
+    private List<Unicorn> create(Unicorn... unicorns) {
+        return webTestClient.post()
+            .uri("/unicorns/batch")
+            .bodyValue(List.of(unicorns))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBodyList(Unicorn.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    private List<String> names(String uri, Object... variables) {
+        var unicorns = webTestClient.get()
+            .uri(uri, variables)
+            .exchange()
+            .expectBodyList(Unicorn.class)
+            .returnResult()
+            .getResponseBody();
+        return unicorns == null ? List.of() : unicorns.stream().map(Unicorn::getName).toList();
+    }
+
+    // Records the last projected unicorn query so its plan can be inspected
+    public static class CapturingStatementInspector implements StatementInspector {
+        static volatile String lastSelect;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains("from unicorns") && sql.contains(" order by ")) {
+                lastSelect = sql;
+            }
+            return sql;
+        }
+    }
+}
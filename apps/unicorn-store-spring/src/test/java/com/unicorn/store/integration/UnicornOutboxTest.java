@@ -0,0 +1,107 @@
+package com.unicorn.store.integration;
+
+import com.unicorn.store.data.OutboxRepository;
+import com.unicorn.store.model.Unicorn;
+import com.unicorn.store.model.UnicornEventType;
+import com.unicorn.store.service.UnicornOutboxRelay;
+import com.unicorn.store.service.UnicornService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.ResourceAlreadyExistsException;
+
+import java.time.Duration;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.awaitility.Awaitility.await;
+
+// Integration tests for the transactional outbox and its EventBridge relay
+@SpringBootTest(properties = {
+    "unicorn.outbox.lease=30s",
+    "unicorn.outbox.retry-backoff=1s",
+    // Without LocalStack every publish fails; keep the relay claiming instead of pausing behind the breaker
+    "unicorn.publisher.circuit.failure-threshold=1000000"
+})
+@TestInfrastructure
+class UnicornOutboxTest {
+
+    @Autowired
+    private UnicornService unicornService;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldWriteOutboxEventInSameTransaction() {
+        // Checked before commit, so the relay cannot have drained the row yet
+        transactionTemplate.executeWithoutResult(status -> {
+            var created = unicornService.createUnicorn(new Unicorn("Outboxed", "3", "Small", "standard"));
+
+            assertThat(StreamSupport.stream(outboxRepository.findAll().spliterator(), false))
+                .anySatisfy(event -> {
+                    assertThat(event.getAggregateId()).isEqualTo(created.getId());
+                    assertThat(event.getEventType()).isEqualTo(UnicornEventType.UNICORN_CREATED);
+                    assertThat(event.getPayload()).contains("Outboxed");
+                });
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void shouldDiscardOutboxEventWhenTransactionRollsBack() {
+        var before = outboxRepository.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            unicornService.createUnicorn(new Unicorn("RolledBack", "3", "Small", "standard"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void shouldRetryFailedDeliveriesAfterTheBackoffInsteadOfTheLease() {
+        // Needs failing deliveries: without LocalStack nothing listens on the EventBridge endpoint
+        assumeThat(TestInfrastructureInitializer.isLocalStackRunning()).isFalse();
+
+        var created = unicornService.createUnicorn(new Unicorn("Undeliverable", "4", "Small", "standard"));
+
+        // A second attempt well within the 30s lease: the failed row was rescheduled after the 1s backoff
+        await().atMost(Duration.ofSeconds(20)).until(() ->
+            StreamSupport.stream(outboxRepository.findAll().spliterator(), false)
+                .anyMatch(event -> event.getAggregateId().equals(created.getId()) && event.getAttempts() >= 2));
+    }
+
+    @Test
+    void shouldRejectALeaseThatAPublishCanOutlast() {
+        assertThatThrownBy(() -> new UnicornOutboxRelay(null, null, null, new SimpleMeterRegistry(), 100,
+                Duration.ofSeconds(10), Duration.ofSeconds(12), Duration.ofSeconds(5)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("publish-timeout");
+    }
+
+    @Test
+    void shouldRelayOutboxEventsToEventBridge() {
+        // Delivery needs LocalStack; the H2 fallback has no EventBridge endpoint
+        assumeThat(TestInfrastructureInitializer.isLocalStackRunning()).isTrue();
+        try (var eventBridge = EventBridgeClient.create()) {
+            eventBridge.createEventBus(bus -> bus.name("unicorns"));
+        } catch (ResourceAlreadyExistsException _) {
+            // Java 22 unnamed variable (_)
+        }
+
+        unicornService.createUnicorn(new Unicorn("Relayed", "4", "Small", "standard"));
+
+        await().atMost(Duration.ofSeconds(30))
+            .untilAsserted(() -> assertThat(outboxRepository.count()).isZero());
+    }
+}
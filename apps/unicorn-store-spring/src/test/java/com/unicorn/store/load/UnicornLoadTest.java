@@ -0,0 +1,259 @@
+package com.unicorn.store.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.model.Unicorn;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load test: mixed CRUD traffic at a fixed arrival rate from virtual-thread clients against
+// the app on Testcontainers PostgreSQL + LocalStack (H2 fallback without Docker). Latency is measured
+// from each request's scheduled start, so a stalled server cannot hide queueing (coordinated omission).
+// The build fails when an endpoint's p99 exceeds its budget. Run with: mvn test -Pload
+//   -Dload.rate=100 (req/s) -Dload.duration=PT30S -Dload.warmup=PT10S
+//   -Dload.p99-budget-ms=250 (all endpoints) -Dload.p99-budget-ms.read=50 (one endpoint)
+// HdrHistogram percentile distributions are written to target/load-test/<endpoint>.hgrm.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInfrastructure
+class UnicornLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(UnicornLoadTest.class);
+
+    private static final int RATE = Integer.getInteger("load.rate", 100);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final long DEFAULT_P99_BUDGET_MS = Long.getLong("load.p99-budget-ms", 250);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("load.report-dir", "target/load-test"));
+    private static final int SEED_UNICORNS = 200;
+
+    // Weights are percentages of the request mix
+    enum Endpoint {
+        CREATE("create", "POST /unicorns", 20),
+        READ("read", "GET /unicorns/{id}", 50),
+        UPDATE("update", "PUT /unicorns/{id}", 15),
+        LIST("list", "GET /unicorns?limit=20", 10),
+        DELETE("delete", "DELETE /unicorns/{id}", 5);
+
+        final String key;
+        final String label;
+        final int weight;
+
+        Endpoint(String key, String label, int weight) {
+            this.key = key;
+            this.label = label;
+            this.weight = weight;
+        }
+
+        long p99BudgetMs() {
+            return Long.getLong("load.p99-budget-ms." + key, DEFAULT_P99_BUDGET_MS);
+        }
+
+        static Endpoint pick() {
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            for (var endpoint : values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return READ;
+        }
+    }
+
+    record Stats(Histogram latencyMicros, AtomicLong errors) {
+        Stats() {
+            this(new ConcurrentHistogram(3), new AtomicLong());
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final IdPool ids = new IdPool();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Test
+    void p99LatencyShouldStayWithinBudget() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             var httpClient = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .connectTimeout(Duration.ofSeconds(5))
+                 .executor(clients)
+                 .build()) {
+            for (int i = 0; i < SEED_UNICORNS; i++) {
+                send(httpClient, Endpoint.CREATE);
+            }
+
+            logger.info("Warming up for {} at {} req/s", WARMUP, RATE);
+            drive(httpClient, WARMUP);
+            logger.info("Measuring for {} at {} req/s", DURATION, RATE);
+            var stats = drive(httpClient, DURATION);
+
+            report(stats);
+            var softly = new SoftAssertions();
+            stats.forEach((endpoint, endpointStats) -> {
+                var histogram = endpointStats.latencyMicros();
+                softly.assertThat(histogram.getTotalCount()).as("%s requests", endpoint.label).isPositive();
+                softly.assertThat(histogram.getValueAtPercentile(99.0) / 1_000)
+                    .as("%s p99 (ms)", endpoint.label)
+                    .isLessThanOrEqualTo(endpoint.p99BudgetMs());
+                softly.assertThat(endpointStats.errors().get())
+                    .as("%s errors", endpoint.label)
+                    .isLessThanOrEqualTo(histogram.getTotalCount() / 100);
+            });
+            softly.assertAll();
+        }
+    }
+
+    // Issues RATE requests per second on a fixed schedule, each on its own virtual thread, regardless of
+    // how many are still in flight. Returns once every scheduled request has completed.
+    private Map<Endpoint, Stats> drive(HttpClient httpClient, Duration duration) {
+        var stats = new EnumMap<Endpoint, Stats>(Endpoint.class);
+        for (var endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+        long intervalNanos = 1_000_000_000L / RATE;
+        long total = duration.toSeconds() * RATE;
+        long start = System.nanoTime();
+
+        try (var requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                var endpoint = Endpoint.pick();
+                requests.submit(() -> {
+                    var endpointStats = stats.get(endpoint);
+                    if (!send(httpClient, endpoint)) {
+                        endpointStats.errors().incrementAndGet();
+                    }
+                    endpointStats.latencyMicros().recordValue((System.nanoTime() - scheduled) / 1_000);
+                });
+            }
+        }
+        return stats;
+    }
+
+    // Returns false for transport errors, 5xx and unexpected 4xx. A 404 is expected when a read or
+    // update races with the delete of the same unicorn.
+    private boolean send(HttpClient httpClient, Endpoint endpoint) {
+        try {
+            var id = endpoint == Endpoint.DELETE ? ids.take() : ids.random();
+            if (id == null && endpoint != Endpoint.CREATE && endpoint != Endpoint.LIST) {
+                return send(httpClient, Endpoint.CREATE);
+            }
+            var request = switch (endpoint) {
+                case CREATE -> json("/unicorns").POST(body());
+                case READ -> HttpRequest.newBuilder(uri("/unicorns/" + id)).GET();
+                case UPDATE -> json("/unicorns/" + id).PUT(body());
+                case LIST -> HttpRequest.newBuilder(uri("/unicorns?limit=20" + (id == null ? "" : "&after=" + id))).GET();
+                case DELETE -> HttpRequest.newBuilder(uri("/unicorns/" + id)).DELETE();
+            };
+            var response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (endpoint == Endpoint.CREATE && response.statusCode() == 201) {
+                ids.add(objectMapper.readValue(response.body(), Unicorn.class).getId());
+            }
+            return response.statusCode() < 400 || response.statusCode() == 404 && endpoint != Endpoint.CREATE;
+        } catch (IOException e) {
+            logger.debug("{} failed: {}", endpoint.label, e.getMessage());
+            return false;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void report(Map<Endpoint, Stats> stats) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        for (var entry : stats.entrySet()) {
+            var endpoint = entry.getKey();
+            var histogram = entry.getValue().latencyMicros();
+            logger.info("{}: {} requests, {} errors, p50 {} ms, p90 {} ms, p99 {} ms (budget {} ms), p99.9 {} ms, max {} ms",
+                endpoint.label, histogram.getTotalCount(), entry.getValue().errors().get(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), endpoint.p99BudgetMs(),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+            try (var out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve(endpoint.key + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+        logger.info("Latency distributions written to {}", REPORT_DIR.toAbsolutePath());
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body() {
+        return HttpRequest.BodyPublishers.ofString(
+            "{\"name\":\"Load%d\",\"age\":\"5\",\"size\":\"Medium\",\"type\":\"standard\"}"
+                .formatted(sequence.incrementAndGet()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String millis(long micros) {
+        return "%.1f".formatted(micros / 1_000.0);
+    }
+
+    // Live unicorn IDs: random pick for reads/updates, removal for deletes
+    private static final class IdPool {
+        private final List<String> ids = new ArrayList<>();
+
+        synchronized void add(String id) {
+            ids.add(id);
+        }
+
+        synchronized String random() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        // Swap-remove keeps removal O(1)
+        synchronized String take() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            var id = ids.get(index);
+            ids.set(index, ids.getLast());
+            ids.removeLast();
+            return id;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.unicorn.store.property;
+
+import com.unicorn.store.data.UuidV7;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Property tests for UuidV7 - RFC 9562 layout, time order of the string form, uniqueness under contention
+class UuidV7PropertyTest {
+
+    @Property(tries = 100)
+    @Label("Generated UUIDs are version 7, IETF variant, stamped with the current time")
+    void hasVersion7LayoutAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        // The sequence may borrow from following milliseconds under bursts, never from earlier ones
+        assertThat(UuidV7.timestamp(uuid)).isGreaterThanOrEqualTo(before).isLessThan(after + 1_000);
+    }
+
+    @Property(tries = 50)
+    @Label("String IDs sort in generation order, also within one millisecond")
+    void stringsSortInGenerationOrder(@ForAll @IntRange(min = 2, max = 10_000) int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UuidV7.nextString());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Property(tries = 20)
+    @Label("Concurrent generators never hand out the same ID")
+    void concurrentIdsAreUnique(@ForAll @IntRange(min = 2, max = 32) int threads) throws InterruptedException {
+        int perThread = 1_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    startLatch.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7.nextString());
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Example
+    @Label("Round-trips through UUID.fromString like any other UUID")
+    void roundTripsThroughFromString() {
+        var id = UuidV7.nextString();
+
+        assertThat(UUID.fromString(id).toString()).isEqualTo(id);
+        assertThat(id).matches("[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}");
+    }
+}
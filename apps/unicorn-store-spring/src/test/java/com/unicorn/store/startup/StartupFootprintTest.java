@@ -0,0 +1,439 @@
+package com.unicorn.store.startup;
+
+import com.unicorn.store.StoreApplication;
+import com.unicorn.store.integration.TestInfrastructure;
+import com.unicorn.store.integration.TestInfrastructureInitializer;
+import com.unicorn.store.training.TrainingRun;
+import com.unicorn.store.training.TrainingWorkload;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.ToLongFunction;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+// Startup and footprint of the packaged application in each launch mode of apps/dockerfiles, run locally:
+// plain JVM, AppCDS archive, AOT cache (JDK 25+), CRaC restore (CRaC JDK) and GraalVM native image.
+// The archive and the cache are built twice: from a run that exits after refresh, and from the training
+// run (StoreApplication --training), whose workload also covers the request paths.
+// Every run is a fresh process; measured from process start: time until /actuator/health/readiness
+// answers 200 and until the first GET /unicorns succeeds (polled concurrently), then RSS and PSS
+// of the process tree from /proc/<pid>/smaps_rollup, then the time for a fixed TrainingWorkload
+// (the warm-up a trained cache saves). Medians are written as a Markdown table to
+// target/startup/startup-footprint.md; modes the local JDK cannot run are listed as skipped.
+// The JVM modes run the exploded exec jar (one shared classpath, as Dockerfile.06-aot does).
+// The database is Testcontainers PostgreSQL, or an in-memory H2 per process without Docker
+// (the native image has no H2 driver and needs PostgreSQL). The training run always uses H2.
+// Linux only. Build the jar (and optionally the native binary) first, then run:
+//   mvn package -DskipTests && mvn test -Pstartup
+//   -Dstartup.modes=jvm,cds,cds-trained,aot,aot-trained,crac,native -Dstartup.runs=3
+//   -Dstartup.workload.iterations=200 -Dstartup.training.iterations=1000 -Dstartup.jvm-options="-Xmx512m"
+//   -Dstartup.java.home=... -Dstartup.crac.java.home=/path/to/zulu25-crac -Dstartup.crac.engine=warp
+//   -Dstartup.jar=target/store-spring-1.0.0-exec.jar -Dstartup.native=target/store-spring
+@Tag("startup")
+@TestInfrastructure
+class StartupFootprintTest {
+    private static final Logger logger = LoggerFactory.getLogger(StartupFootprintTest.class);
+
+    private static final Path JAR = Path.of(System.getProperty("startup.jar", "target/store-spring-1.0.0-exec.jar"));
+    private static final Path NATIVE = Path.of(System.getProperty("startup.native", "target/store-spring"));
+    private static final String JAVA_HOME = System.getProperty("startup.java.home", System.getProperty("java.home"));
+    private static final Path JAVA = Path.of(JAVA_HOME, "bin", "java");
+    private static final Path CRAC_JAVA = Path.of(System.getProperty("startup.crac.java.home", JAVA_HOME), "bin", "java");
+    private static final String CRAC_ENGINE = System.getProperty("startup.crac.engine", "warp");
+    private static final List<String> MODES = List.of(System.getProperty("startup.modes",
+            "jvm,cds,cds-trained,aot,aot-trained,crac,native")
+            .split(","));
+    private static final List<String> JVM_OPTIONS = Arrays.stream(System.getProperty("startup.jvm-options", "")
+            .split(" ")).filter(option -> !option.isBlank()).toList();
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+    private static final int WORKLOAD_ITERATIONS = Integer.getInteger("startup.workload.iterations", 200);
+    private static final int TRAINING_ITERATIONS = Integer.getInteger("startup.training.iterations", 1000);
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+    private static final Path WORK_DIR = Path.of("target", "startup").toAbsolutePath();
+    private static final String MAIN_CLASS = StoreApplication.class.getName();
+    // One port for every run: a restored CRaC process keeps the port it was checkpointed with
+    private static final int PORT = freePort();
+
+    enum Mode {
+        JVM("jvm", "JVM", false),
+        CDS("cds", "AppCDS archive", false),
+        CDS_TRAINED("cds-trained", "AppCDS archive, training run", true),
+        AOT("aot", "AOT cache", false),
+        AOT_TRAINED("aot-trained", "AOT cache, training run", true),
+        CRAC("crac", "CRaC restore", false),
+        NATIVE("native", "Native image", false);
+
+        final String key;
+        final String label;
+        // Archive or cache recorded from StoreApplication --training instead of a run that exits after refresh
+        final boolean trained;
+
+        Mode(String key, String label, boolean trained) {
+            this.key = key;
+            this.label = label;
+            this.trained = trained;
+        }
+    }
+
+    record Sample(Duration ready, Duration firstRequest, long rssKb, long pssKb, Duration workload) {}
+
+    // Either the launch command (after any training run) or the reason the mode is skipped
+    record Launch(List<String> command, String skipped) {
+        static Launch skip(String reason) {
+            return new Launch(List.of(), reason);
+        }
+    }
+
+    record Result(Mode mode, String skipped, List<Sample> samples) {}
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private String classpath;
+
+    @Test
+    void compareStartupAndFootprintAcrossModes() throws Exception {
+        assumeThat(Path.of("/proc/self/smaps_rollup")).as("needs Linux /proc").exists();
+        Files.createDirectories(WORK_DIR);
+
+        var results = new ArrayList<Result>();
+        for (var mode : Mode.values()) {
+            if (!MODES.contains(mode.key)) {
+                continue;
+            }
+            var launch = prepare(mode);
+            if (launch.skipped() != null) {
+                logger.info("Skipping {}: {}", mode.label, launch.skipped());
+                results.add(new Result(mode, launch.skipped(), List.of()));
+                continue;
+            }
+            var samples = new ArrayList<Sample>();
+            for (int run = 1; run <= RUNS; run++) {
+                var sample = measure(mode.key + "-" + run, launch.command());
+                logger.info("{} run {}: {}", mode.label, run, sample);
+                samples.add(sample);
+            }
+            results.add(new Result(mode, null, samples));
+        }
+
+        var table = table(results);
+        Files.writeString(WORK_DIR.resolve("startup-footprint.md"), table);
+        logger.info("Startup and footprint, median of {} runs:\n{}", RUNS, table);
+        assertThat(results).as("at least one mode measured").anySatisfy(result -> assertThat(result.samples()).isNotEmpty());
+    }
+
+    private Launch prepare(Mode mode) throws Exception {
+        if (mode == Mode.NATIVE) {
+            if (!Files.isExecutable(NATIVE)) {
+                return Launch.skip("no native binary at " + NATIVE + " (mvn package -Pnative)");
+            }
+            if (!TestInfrastructureInitializer.isPostgresRunning()) {
+                return Launch.skip("needs PostgreSQL (Docker), the native image has no H2 driver");
+            }
+            return new Launch(concat(List.of(NATIVE.toString()), applicationProperties()), null);
+        }
+        if (!Files.isRegularFile(JAR)) {
+            return Launch.skip("no jar at " + JAR + " (mvn package)");
+        }
+        if (classpath == null) {
+            classpath = explodeJar();
+        }
+        return switch (mode) {
+            case JVM -> new Launch(javaCommand(JAVA, List.of()), null);
+            case CDS, CDS_TRAINED -> {
+                var archive = WORK_DIR.resolve(mode.key + ".jsa");
+                yield train(mode.key, trainingCommand(mode, "-XX:ArchiveClassesAtExit=" + archive), archive)
+                        .map(Launch::skip)
+                        .orElseGet(() -> new Launch(javaCommand(JAVA, List.of("-XX:SharedArchiveFile=" + archive)), null));
+            }
+            case AOT, AOT_TRAINED -> {
+                if (!supports(JAVA, List.of("-XX:AOTMode=off"))) {
+                    yield Launch.skip(JAVA + " has no AOT cache (JDK 25+)");
+                }
+                var cache = WORK_DIR.resolve(mode.key + ".aot");
+                yield train(mode.key, trainingCommand(mode, "-XX:AOTCacheOutput=" + cache), cache)
+                        .map(Launch::skip)
+                        .orElseGet(() -> new Launch(javaCommand(JAVA, List.of("-XX:AOTCache=" + cache)), null));
+            }
+            case CRAC -> {
+                var engine = "-XX:CRaCEngine=" + CRAC_ENGINE;
+                if (!supports(CRAC_JAVA, List.of(engine, "-XX:CRaCCheckpointTo=" + WORK_DIR.resolve("crac-probe")))) {
+                    yield Launch.skip(CRAC_JAVA + " has no CRaC " + CRAC_ENGINE + " engine (-Dstartup.crac.java.home)");
+                }
+                var image = WORK_DIR.resolve("crac-image");
+                deleteRecursively(image);
+                yield train("crac", javaCommand(CRAC_JAVA, List.of(engine, "-XX:CRaCCheckpointTo=" + image,
+                                "-Dspring.context.checkpoint=onRefresh")), image)
+                        .map(Launch::skip)
+                        .orElseGet(() -> new Launch(List.of(CRAC_JAVA.toString(), engine,
+                                "-XX:CRaCRestoreFrom=" + image), null));
+            }
+            case NATIVE -> throw new IllegalStateException("handled above");
+        };
+    }
+
+    // Runs the application once to produce the archive, cache or checkpoint; empty when it was produced
+    private Optional<String> train(String name, List<String> command, Path output) throws Exception {
+        long start = System.nanoTime();
+        var process = start(name + "-training", command);
+        if (!process.waitFor(TIMEOUT.multipliedBy(5).toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            return Optional.of("training run timed out (see " + name + "-training.log)");
+        }
+        if (!Files.exists(output)) {
+            return Optional.of("training run produced no " + output.getFileName() + " (see " + name + "-training.log)");
+        }
+        logger.info("Training run for {} took {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        return Optional.empty();
+    }
+
+    private Sample measure(String name, List<String> command) throws Exception {
+        long start = System.nanoTime();
+        var process = start(name, command);
+        try {
+            var ready = CompletableFuture.supplyAsync(() -> poll(process, start, "/actuator/health/readiness",
+                    status -> status == 200), Executors.newVirtualThreadPerTaskExecutor());
+            var firstRequest = poll(process, start, "/unicorns?limit=10", status -> status / 100 == 2);
+            var readyAfter = ready.join();
+            long[] memory = memory(process);
+            long workloadStart = System.nanoTime();
+            new TrainingWorkload(URI.create("http://localhost:" + PORT)).run(WORKLOAD_ITERATIONS);
+            var workload = Duration.ofNanos(System.nanoTime() - workloadStart);
+            return new Sample(readyAfter, firstRequest, memory[0], memory[1], workload);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private Duration poll(Process process, long start, String path, IntPredicate success) {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + path))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        while (true) {
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (!process.isAlive() || elapsed.compareTo(TIMEOUT) > 0) {
+                throw new IllegalStateException("No successful GET " + path + " after " + elapsed.toMillis()
+                        + " ms, process alive: " + process.isAlive() + " (see " + WORK_DIR + ")");
+            }
+            try {
+                if (success.test(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode())) {
+                    return Duration.ofNanos(System.nanoTime() - start);
+                }
+            } catch (IOException _) {
+                // Java 22 unnamed variable (_)
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // RSS and PSS in kB, summed over the process and its children (a CRaC restore may fork)
+    private static long[] memory(Process process) throws IOException {
+        long rss = 0;
+        long pss = 0;
+        for (var handle : Stream.concat(Stream.of(process.toHandle()), process.descendants()).toList()) {
+            for (var line : Files.readAllLines(Path.of("/proc", String.valueOf(handle.pid()), "smaps_rollup"))) {
+                if (line.startsWith("Rss:")) {
+                    rss += kilobytes(line);
+                } else if (line.startsWith("Pss:")) {
+                    pss += kilobytes(line);
+                }
+            }
+        }
+        return new long[] {rss, pss};
+    }
+
+    private static long kilobytes(String smapsLine) {
+        return Long.parseLong(smapsLine.replaceAll("[^0-9]", ""));
+    }
+
+    // The run that records the archive or cache: either it exits right after refresh, or it is the training
+    // run, which brings its own database, port and EventBridge stub (no test infrastructure properties)
+    private List<String> trainingCommand(Mode mode, String recordOption) {
+        if (mode.trained) {
+            return concat(javaCommand(JAVA, List.of(recordOption),
+                    List.of("-Dunicorn.training.iterations=" + TRAINING_ITERATIONS)), List.of(TrainingRun.ARGUMENT));
+        }
+        return javaCommand(JAVA, List.of(recordOption, "-Dspring.context.exit=onRefresh"));
+    }
+
+    private List<String> javaCommand(Path java, List<String> options) {
+        return javaCommand(java, options, applicationProperties());
+    }
+
+    private List<String> javaCommand(Path java, List<String> options, List<String> properties) {
+        var command = new ArrayList<String>();
+        command.add(java.toString());
+        command.addAll(JVM_OPTIONS);
+        command.addAll(options);
+        command.addAll(List.of("-cp", classpath));
+        command.addAll(properties);
+        command.add(MAIN_CLASS);
+        return command;
+    }
+
+    // The test infrastructure's database and AWS settings, passed on as system properties
+    private static List<String> applicationProperties() {
+        var properties = new LinkedHashMap<String, String>();
+        properties.put("server.port", String.valueOf(PORT));
+        for (var key : List.of("spring.datasource.url", "spring.datasource.username", "spring.datasource.password",
+                "spring.datasource.driver-class-name", "spring.jpa.database-platform", "spring.sql.init.mode",
+                "spring.jpa.hibernate.ddl-auto", "aws.accessKeyId", "aws.secretAccessKey", "aws.region",
+                "aws.endpointUrl")) {
+            Optional.ofNullable(System.getProperty(key)).ifPresent(value -> properties.put(key, value));
+        }
+        if (!TestInfrastructureInitializer.isPostgresRunning()) {
+            // Private to each process; kept alive while Hikari's connections are closed for a checkpoint
+            properties.put("spring.datasource.url", "jdbc:h2:mem:startup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        }
+        return properties.entrySet().stream().map(entry -> "-D" + entry.getKey() + "=" + entry.getValue()).toList();
+    }
+
+    // BOOT-INF/classes becomes classes.jar (CDS and AOT caches only cover classes loaded from jars),
+    // BOOT-INF/lib is copied; the classpath is sorted so training and measured runs match
+    private String explodeJar() throws Exception {
+        var appDir = WORK_DIR.resolve("app");
+        var libDir = appDir.resolve("lib");
+        deleteRecursively(appDir);
+        Files.createDirectories(libDir);
+        var classesJar = appDir.resolve("classes.jar");
+        try (var jar = new JarFile(JAR.toFile());
+             var classes = new JarOutputStream(Files.newOutputStream(classesJar))) {
+            for (var entry : Collections.list(jar.entries())) {
+                var name = entry.getName();
+                if (name.startsWith("BOOT-INF/classes/") && name.length() > "BOOT-INF/classes/".length()) {
+                    // Directory entries included: component scanning looks packages up as resources
+                    classes.putNextEntry(new JarEntry(name.substring("BOOT-INF/classes/".length())));
+                    if (!entry.isDirectory()) {
+                        try (var in = jar.getInputStream(entry)) {
+                            in.transferTo(classes);
+                        }
+                    }
+                    classes.closeEntry();
+                } else if (name.startsWith("BOOT-INF/lib/") && !entry.isDirectory()) {
+                    try (var in = jar.getInputStream(entry)) {
+                        Files.copy(in, libDir.resolve(Path.of(name).getFileName()));
+                    }
+                }
+            }
+        }
+
+        var entries = new ArrayList<String>();
+        entries.add(classesJar.toString());
+        try (var libs = Files.list(libDir)) {
+            libs.map(Path::toString).sorted().forEach(entries::add);
+        }
+        // H2 (training run, fallback database) is a test dependency, not part of the jar; last, as in Dockerfile.06-aot
+        entries.add(Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString());
+        return String.join(java.io.File.pathSeparator, entries);
+    }
+
+    private static boolean supports(Path java, List<String> options) throws Exception {
+        if (!Files.isExecutable(java)) {
+            return false;
+        }
+        var process = new ProcessBuilder(concat(concat(List.of(java.toString()), options), List.of("-version")))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        return process.waitFor(30, TimeUnit.SECONDS) && process.exitValue() == 0;
+    }
+
+    private static Process start(String name, List<String> command) throws IOException {
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(WORK_DIR.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    private static String table(List<Result> results) {
+        var table = new StringBuilder()
+                .append("| Mode | Ready (ms) | First request (ms) | RSS (MB) | PSS (MB) | Workload (ms) | Notes |\n")
+                .append("|------|-----------:|-------------------:|---------:|---------:|--------------:|-------|\n");
+        for (var result : results) {
+            if (result.samples().isEmpty()) {
+                table.append("| %s | - | - | - | - | - | skipped: %s |\n".formatted(result.mode().label, result.skipped()));
+                continue;
+            }
+            table.append("| %s | %d | %d | %d | %d | %d | %d runs |\n".formatted(result.mode().label,
+                    median(result.samples(), sample -> sample.ready().toMillis()),
+                    median(result.samples(), sample -> sample.firstRequest().toMillis()),
+                    median(result.samples(), Sample::rssKb) / 1024,
+                    median(result.samples(), Sample::pssKb) / 1024,
+                    median(result.samples(), sample -> sample.workload().toMillis()),
+                    result.samples().size()));
+        }
+        return table.append("\nWorkload: ").append(WORKLOAD_ITERATIONS)
+                .append(" TrainingWorkload rounds right after the first request (JIT warm-up)\n").toString();
+    }
+
+    private static long median(List<Sample> samples, ToLongFunction<Sample> metric) {
+        var values = samples.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (var paths = Files.walk(path)) {
+            for (var file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -113,19 +113,14 @@ if [[ -n "${ONLY_METHOD}" ]]; then
     fi
 fi
 
-# Check if method needs DB for training
+# Check if method needs DB for training (06-aot trains against in-memory H2 via StoreApplication --training)
 needs_db() {
     case "$1" in
-        05-cds|06-aot|08-crac) return 0 ;;
+        05-cds|08-crac) return 0 ;;
         *) return 1 ;;
     esac
 }
 
-# Check if method needs code changes (CRaC)
-needs_code_change() {
-    [[ "$1" == "08-crac" ]]
-}
-
 # Check if method is a deploy-only variant (uses 01-multi-stage image)
 is_deploy_variant() {
     case "$1" in
@@ -200,21 +195,6 @@ stop_build_db() {
     docker rm -f build-postgres 2>/dev/null || true
 }
 
-# CRaC code swap
-crac_pre_build() {
-    log_info "Swapping UnicornPublisher for CRaC..."
-    cp "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.java" \
-       "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.java.orig"
-    cp "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.crac" \
-       "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.java"
-}
-
-crac_post_build() {
-    log_info "Restoring UnicornPublisher..."
-    mv "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.java.orig" \
-       "${APP_DIR}/src/main/java/com/unicorn/store/data/UnicornPublisher.java"
-}
-
 # Format elapsed time
 format_time() {
     local seconds=$1
@@ -283,11 +263,6 @@ build_image() {
         return 1
     fi
 
-    # Pre-build hooks
-    if needs_code_change "$tag"; then
-        crac_pre_build
-    fi
-
     # Start DB if needed and set build args (all methods use same SPRING_DATASOURCE_* args)
     if needs_db "$tag"; then
         start_build_db
@@ -306,11 +281,6 @@ build_image() {
         stop_build_db
     fi
 
-    # Post-build hooks
-    if needs_code_change "$tag"; then
-        crac_post_build
-    fi
-
     return $result
 }
 